@@ -27,6 +27,7 @@ public class CitiesActivity extends Activity {
         final WheelView country = (WheelView) findViewById(R.id.country);
         country.setVisibleItems(3);
         country.setViewAdapter(new CountryAdapter(this));
+        country.prewarmItems(country.getVisibleItems() + 2);
 
         final String cities[][] = new String[][] {
         		new String[] {"New York", "Washington", "Chicago", "Atlanta", "Orlando"},
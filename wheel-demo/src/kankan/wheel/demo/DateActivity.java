@@ -5,6 +5,7 @@ import java.util.Calendar;
 import kankan.wheel.R;
 import kankan.wheel.widget.OnWheelChangedListener;
 import kankan.wheel.widget.WheelView;
+import kankan.wheel.widget.WheelViewPool;
 import kankan.wheel.widget.adapters.ArrayWheelAdapter;
 import kankan.wheel.widget.adapters.NumericWheelAdapter;
 
@@ -27,6 +28,11 @@ public class DateActivity extends Activity {
         final WheelView month = (WheelView) findViewById(R.id.month);
         final WheelView year = (WheelView) findViewById(R.id.year);
         final WheelView day = (WheelView) findViewById(R.id.day);
+
+        WheelViewPool viewPool = new WheelViewPool();
+        month.setViewPool(viewPool);
+        year.setViewPool(viewPool);
+        day.setViewPool(viewPool);
         
         OnWheelChangedListener listener = new OnWheelChangedListener() {
             public void onChanged(WheelView wheel, int oldValue, int newValue) {
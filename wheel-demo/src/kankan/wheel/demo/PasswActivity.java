@@ -3,7 +3,9 @@ package kankan.wheel.demo;
 import kankan.wheel.R;
 import kankan.wheel.widget.OnWheelChangedListener;
 import kankan.wheel.widget.OnWheelScrollListener;
+import kankan.wheel.widget.WheelGroup;
 import kankan.wheel.widget.WheelView;
+import kankan.wheel.widget.WheelViewPool;
 import kankan.wheel.widget.adapters.NumericWheelAdapter;
 import android.app.Activity;
 import android.os.Bundle;
@@ -14,6 +16,11 @@ import android.widget.Button;
 import android.widget.TextView;
 
 public class PasswActivity extends Activity {
+    // Wheels group
+    private WheelGroup wheels = new WheelGroup();
+    // Items views shared by wheels
+    private WheelViewPool viewPool = new WheelViewPool();
+
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -78,6 +85,7 @@ public class PasswActivity extends Activity {
      */
     private void initWheel(int id) {
         WheelView wheel = getWheel(id);
+        wheel.setViewPool(viewPool);
         wheel.setViewAdapter(new NumericWheelAdapter(this, 0, 9));
         wheel.setCurrentItem((int)(Math.random() * 10));
         
@@ -85,6 +93,7 @@ public class PasswActivity extends Activity {
         wheel.addScrollingListener(scrolledListener);
         wheel.setCyclic(true);
         wheel.setInterpolator(new AnticipateOvershootInterpolator());
+        wheels.addWheel(wheel);
     }
     
     /**
@@ -7,6 +7,7 @@ import java.util.List;
 import kankan.wheel.R;
 import kankan.wheel.widget.OnWheelChangedListener;
 import kankan.wheel.widget.OnWheelScrollListener;
+import kankan.wheel.widget.WheelGroup;
 import kankan.wheel.widget.WheelView;
 import kankan.wheel.widget.adapters.AbstractWheelAdapter;
 import android.app.Activity;
@@ -23,6 +24,9 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 public class SlotMachineActivity extends Activity {
+    // Slots group
+    private WheelGroup slots = new WheelGroup();
+
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -35,9 +39,7 @@ public class SlotMachineActivity extends Activity {
         Button mix = (Button)findViewById(R.id.btn_mix);
         mix.setOnClickListener(new OnClickListener() {
             public void onClick(View v) {
-                mixWheel(R.id.slot_1);
-                mixWheel(R.id.slot_2);
-                mixWheel(R.id.slot_3);
+                mixWheels();
             }
         });
         
@@ -92,6 +94,7 @@ public class SlotMachineActivity extends Activity {
         wheel.addScrollingListener(scrolledListener);
         wheel.setCyclic(true);
         wheel.setEnabled(false);
+        slots.addWheel(wheel);
     }
     
     /**
@@ -123,12 +126,15 @@ public class SlotMachineActivity extends Activity {
     }
     
     /**
-     * Mixes wheel
-     * @param id the wheel id
+     * Mixes wheels. The slots stop one by one.
      */
-    private void mixWheel(int id) {
-        WheelView wheel = getWheel(id);
-        wheel.scroll(-350 + (int)(Math.random() * 50), 2000);
+    private void mixWheels() {
+        int[] items = new int[slots.getWheelsCount()];
+        for (int i = 0; i < items.length; i++) {
+            int count = slots.getWheel(i).getViewAdapter().getItemsCount();
+            items[i] = (int)(Math.random() * count);
+        }
+        slots.spinTo(items, -80, 2000, 400);
     }
     
     /**
@@ -0,0 +1,75 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+import android.content.Context;
+import android.view.animation.Interpolator;
+
+/**
+ * Default scrolling physics: friction fling, spring snap and interpolated scroll.
+ * Motions are reused, so creating them does not allocate.
+ * Every wheel needs its own instance since the motions keep their state.
+ */
+public class DefaultWheelPhysics implements WheelPhysics {
+	/** Default scroll friction, the same as the platform one */
+	public static final float SCROLL_FRICTION = 0.015f;
+
+	/** Snap duration */
+	private static final int SNAP_DURATION = 400;
+
+	// Motions
+	private FrictionMotion friction;
+	private SpringMotion spring;
+	private TweenMotion tween = new TweenMotion();
+
+	/**
+	 * Constructor
+	 * @param context the current context
+	 */
+	public DefaultWheelPhysics(Context context) {
+		this(context.getResources().getDisplayMetrics().density, SCROLL_FRICTION);
+	}
+
+	/**
+	 * Constructor
+	 * @param density the screen density
+	 * @param friction the scroll friction
+	 */
+	public DefaultWheelPhysics(float density, float friction) {
+		this.friction = new FrictionMotion(density, friction);
+		spring = new SpringMotion(SNAP_DURATION);
+	}
+
+	public float getFlingDistance(float velocity) {
+		return friction.getFlingDistance(velocity);
+	}
+
+	public WheelMotion fling(float velocity, float distance) {
+		return friction.start(velocity, distance);
+	}
+
+	public WheelMotion snap(float distance, float velocity) {
+		return spring.start(distance, velocity);
+	}
+
+	public WheelMotion scroll(float distance, int duration, Interpolator interpolator) {
+		return tween.start(distance, duration, interpolator);
+	}
+}
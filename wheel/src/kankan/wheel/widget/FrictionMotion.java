@@ -0,0 +1,154 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+/**
+ * Fling motion decelerated by friction.
+ * It follows the platform fling curve that is precomputed as a spline table,
+ * so evaluating a frame is a table lookup.
+ */
+public class FrictionMotion implements WheelMotion {
+	/** Deceleration rate of the fling curve */
+	private static final float DECELERATION_RATE = (float) (Math.log(0.78) / Math.log(0.9));
+
+	/** Spline parameters */
+	private static final float INFLEXION = 0.35f;
+	private static final float START_TENSION = 0.5f;
+	private static final float END_TENSION = 1.0f;
+	private static final float P1 = START_TENSION * INFLEXION;
+	private static final float P2 = 1.0f - END_TENSION * (1.0f - INFLEXION);
+
+	/** Count of spline samples */
+	private static final int SAMPLES = 100;
+
+	/** Normalized fling position by normalized time */
+	private static final float[] SPLINE_POSITION = new float[SAMPLES + 1];
+
+	static {
+		float xMin = 0.0f;
+		for (int i = 0; i < SAMPLES; i++) {
+			float alpha = (float) i / SAMPLES;
+			float xMax = 1.0f;
+			float x, tx, coef;
+			while (true) {
+				x = xMin + (xMax - xMin) / 2.0f;
+				coef = 3.0f * x * (1.0f - x);
+				tx = coef * ((1.0f - x) * P1 + x * P2) + x * x * x;
+				if (Math.abs(tx - alpha) < 1E-5) {
+					break;
+				}
+				if (tx > alpha) {
+					xMax = x;
+				} else {
+					xMin = x;
+				}
+			}
+			SPLINE_POSITION[i] = coef * ((1.0f - x) * START_TENSION + x) + x * x * x;
+		}
+		SPLINE_POSITION[SAMPLES] = 1.0f;
+	}
+
+	// Friction multiplied by physical coefficient of the screen
+	private float deceleration;
+
+	// Final position
+	private float distance;
+
+	// Duration in milliseconds
+	private long duration;
+
+	/**
+	 * Constructor
+	 * @param density the screen density
+	 * @param friction the friction coefficient
+	 */
+	public FrictionMotion(float density, float friction) {
+		float ppi = density * 160.0f;
+		// gravity (m/s^2) * inches per meter * pixels per inch * magic factor
+		deceleration = friction * 9.80665f * 39.37f * ppi * 0.84f;
+	}
+
+	/**
+	 * Gets natural distance of fling
+	 * @param velocity the initial velocity in pixels per second
+	 * @return the fling distance
+	 */
+	public float getFlingDistance(float velocity) {
+		if (velocity == 0) {
+			return 0;
+		}
+		double distance = deceleration * Math.exp(DECELERATION_RATE / (DECELERATION_RATE - 1.0)
+				* getSplineDeceleration(velocity));
+		return velocity > 0 ? (float) distance : (float) -distance;
+	}
+
+	/**
+	 * Starts fling. The fling curve is scaled to stop at the specified distance.
+	 * @param velocity the initial velocity in pixels per second
+	 * @param distance the distance to stop at
+	 * @return this motion
+	 */
+	public FrictionMotion start(float velocity, float distance) {
+		this.distance = distance;
+		if (velocity != 0) {
+			duration = (long) (1000.0 * Math.exp(getSplineDeceleration(velocity) / (DECELERATION_RATE - 1.0)));
+		} else {
+			duration = 0;
+		}
+		return this;
+	}
+
+	/**
+	 * Returns logarithm of spline deceleration
+	 * @param velocity the initial velocity
+	 * @return the deceleration
+	 */
+	private double getSplineDeceleration(float velocity) {
+		return Math.log(INFLEXION * Math.abs(velocity) / deceleration);
+	}
+
+	public float getPosition(long time) {
+		if (time >= duration) {
+			return distance;
+		}
+		float t = (float) time / duration;
+		int index = (int) (SAMPLES * t);
+		float position = SPLINE_POSITION[index];
+		float coef = (SPLINE_POSITION[index + 1] - position) * SAMPLES;
+		return distance * (position + (t - (float) index / SAMPLES) * coef);
+	}
+
+	public float getVelocity(long time) {
+		if (time >= duration) {
+			return 0;
+		}
+		int index = (int) (SAMPLES * time / duration);
+		float coef = (SPLINE_POSITION[index + 1] - SPLINE_POSITION[index]) * SAMPLES;
+		return distance * coef * 1000.0f / duration;
+	}
+
+	public long getDuration() {
+		return duration;
+	}
+
+	public float getDistance() {
+		return distance;
+	}
+}
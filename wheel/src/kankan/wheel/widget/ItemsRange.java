@@ -42,6 +42,15 @@ public class ItemsRange {
 	 * @param count the count of items
 	 */
 	public ItemsRange(int first, int count) {
+		set(first, count);
+	}
+
+	/**
+	 * Sets range bounds. Allows to reuse the range instead of creating a new one
+	 * @param first the number of first item
+	 * @param count the count of items
+	 */
+	public void set(int first, int count) {
 		this.first = first;
 		this.count = count;
 	}
@@ -0,0 +1,33 @@
+/*
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+/**
+ * Wheel drag latency listener interface.
+ * <p>The onDragLatency() method is called on every frame the wheel follows the finger.
+ * It is intended to measure how far the drawn position is behind the touch.
+ */
+public interface OnWheelDragLatencyListener {
+	/**
+	 * Callback method to be invoked when the wheel position is updated while dragging
+	 * @param wheel the wheel view that is dragged
+	 * @param inputLatency the time from the latest touch sample to the frame in milliseconds
+	 * @param predictedTime the time the position is predicted ahead of the latest touch sample,
+	 * zero if touch prediction is disabled
+	 */
+	void onDragLatency(WheelView wheel, long inputLatency, long predictedTime);
+}
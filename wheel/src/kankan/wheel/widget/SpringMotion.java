@@ -0,0 +1,119 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+/**
+ * Critically damped spring motion.
+ * Position is a combination of the spring step and impulse responses
+ * that are precomputed as tables, so evaluating a frame is a table lookup.
+ */
+public class SpringMotion implements WheelMotion {
+	/** Settling time in natural units, the remaining error is less than 0.3% */
+	private static final float SETTLING_TIME = 8.0f;
+
+	/** Count of table samples */
+	private static final int SAMPLES = 128;
+
+	/** Step response 1 - (1 + t) * e^-t */
+	private static final float[] STEP = new float[SAMPLES + 1];
+
+	/** Impulse response t * e^-t */
+	private static final float[] IMPULSE = new float[SAMPLES + 1];
+
+	/** Derivative of impulse response (1 - t) * e^-t */
+	private static final float[] IMPULSE_RATE = new float[SAMPLES + 1];
+
+	static {
+		for (int i = 0; i <= SAMPLES; i++) {
+			double t = (double) SETTLING_TIME * i / SAMPLES;
+			double exp = Math.exp(-t);
+			STEP[i] = (float) (1.0 - (1.0 + t) * exp);
+			IMPULSE[i] = (float) (t * exp);
+			IMPULSE_RATE[i] = (float) ((1.0 - t) * exp);
+		}
+	}
+
+	// Natural frequency in radians per second
+	private float frequency;
+
+	// Duration in milliseconds
+	private long duration;
+
+	// Final position
+	private float distance;
+
+	// Initial velocity
+	private float velocity;
+
+	/**
+	 * Constructor
+	 * @param duration the settling duration in milliseconds
+	 */
+	public SpringMotion(int duration) {
+		this.duration = duration;
+		frequency = SETTLING_TIME * 1000.0f / duration;
+	}
+
+	/**
+	 * Starts spring motion
+	 * @param distance the rest position of spring
+	 * @param velocity the initial velocity in pixels per second
+	 * @return this motion
+	 */
+	public SpringMotion start(float distance, float velocity) {
+		this.distance = distance;
+		this.velocity = velocity;
+		return this;
+	}
+
+	/**
+	 * Looks up the table with linear interpolation
+	 * @param table the table
+	 * @param time the time since start in milliseconds
+	 * @return the table value
+	 */
+	private float lookup(float[] table, long time) {
+		float position = (float) time * SAMPLES / duration;
+		int index = (int) position;
+		return table[index] + (table[index + 1] - table[index]) * (position - index);
+	}
+
+	public float getPosition(long time) {
+		if (time >= duration) {
+			return distance;
+		}
+		return distance * lookup(STEP, time) + velocity / frequency * lookup(IMPULSE, time);
+	}
+
+	public float getVelocity(long time) {
+		if (time >= duration) {
+			return 0;
+		}
+		return distance * frequency * lookup(IMPULSE, time) + velocity * lookup(IMPULSE_RATE, time);
+	}
+
+	public long getDuration() {
+		return duration;
+	}
+
+	public float getDistance() {
+		return distance;
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+import android.view.animation.Interpolator;
+
+/**
+ * Motion scrolling to the distance in the specified time using interpolator.
+ * The default interpolator is the viscous fluid curve of the platform scroller.
+ */
+public class TweenMotion implements WheelMotion {
+	/** Viscous fluid curve scale */
+	private static final float VISCOUS_FLUID_SCALE = 8.0f;
+
+	/** Viscous fluid curve normalization */
+	private static final float VISCOUS_FLUID_NORMALIZE = 1.0f / viscousFluid(1.0f);
+
+	/** Time step used to calculate velocity */
+	private static final long VELOCITY_STEP = 1;
+
+	// Interpolator, null for viscous fluid
+	private Interpolator interpolator;
+
+	// Final position
+	private float distance;
+
+	// Duration in milliseconds
+	private long duration;
+
+	/**
+	 * Viscous fluid curve
+	 * @param x the normalized time
+	 * @return the not normalized position
+	 */
+	private static float viscousFluid(float x) {
+		x *= VISCOUS_FLUID_SCALE;
+		if (x < 1.0f) {
+			x -= (1.0f - (float) Math.exp(-x));
+		} else {
+			float start = 0.36787944117f; // 1/e == exp(-1)
+			x = 1.0f - (float) Math.exp(1.0f - x);
+			x = start + x * (1.0f - start);
+		}
+		return x;
+	}
+
+	/**
+	 * Starts motion
+	 * @param distance the distance to scroll
+	 * @param duration the duration in milliseconds
+	 * @param interpolator the interpolator, null for the default one
+	 * @return this motion
+	 */
+	public TweenMotion start(float distance, int duration, Interpolator interpolator) {
+		this.distance = distance;
+		this.duration = duration;
+		this.interpolator = interpolator;
+		return this;
+	}
+
+	public float getPosition(long time) {
+		if (time >= duration) {
+			return distance;
+		}
+		float t = (float) time / duration;
+		if (interpolator != null) {
+			t = interpolator.getInterpolation(t);
+		} else {
+			t = viscousFluid(t) * VISCOUS_FLUID_NORMALIZE;
+		}
+		return distance * t;
+	}
+
+	public float getVelocity(long time) {
+		if (time >= duration) {
+			return 0;
+		}
+		return (getPosition(time + VELOCITY_STEP) - getPosition(time)) * 1000.0f / VELOCITY_STEP;
+	}
+
+	public long getDuration() {
+		return duration;
+	}
+
+	public float getDistance() {
+		return distance;
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.WeakHashMap;
+
+import kankan.wheel.R;
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.GradientDrawable;
+import android.graphics.drawable.GradientDrawable.Orientation;
+
+/**
+ * Wheel decorations: background, center rect and shadows.
+ * Drawables are loaded once per resources and shared by all the wheels
+ * through their constant states. Pre-rasterized layers with center rect
+ * and shadows are shared by the wheels of the same size.
+ */
+public class WheelDecorations {
+
+	/** Top and bottom shadows colors */
+	private static final int[] SHADOWS_COLORS = new int[] { 0xFF111111,
+			0x00AAAAAA, 0x00AAAAAA };
+
+	/** Maximum count of cached layers */
+	private static final int MAX_LAYERS = 4;
+
+	// Decorations by resources
+	private static WeakHashMap<Resources, WheelDecorations> instances =
+		new WeakHashMap<Resources, WheelDecorations>();
+
+	/**
+	 * Pre-rasterized layer
+	 */
+	private static class Layer {
+		int width;
+		int height;
+		int itemHeight;
+		Bitmap bitmap;
+	}
+
+	// Drawables states
+	private Drawable.ConstantState backgroundState;
+	private Drawable.ConstantState centerState;
+	private Drawable.ConstantState topShadowState;
+	private Drawable.ConstantState bottomShadowState;
+
+	// Drawables used to rasterize layers
+	private Drawable center;
+	private Drawable topShadow;
+	private Drawable bottomShadow;
+
+	// Cached layers, the most recently used first
+	private LinkedList<Layer> layers = new LinkedList<Layer>();
+
+	/**
+	 * Returns decorations for the context resources
+	 * @param context the context
+	 * @return the shared decorations
+	 */
+	public static WheelDecorations get(Context context) {
+		Resources resources = context.getResources();
+		WheelDecorations decorations = instances.get(resources);
+		if (decorations == null) {
+			decorations = new WheelDecorations(resources);
+			instances.put(resources, decorations);
+		}
+		return decorations;
+	}
+
+	/**
+	 * Sets bounds of center rect and shadows
+	 * @param center the center rect drawable
+	 * @param topShadow the top shadow drawable
+	 * @param bottomShadow the bottom shadow drawable
+	 * @param width the wheel width
+	 * @param height the wheel height
+	 * @param itemHeight the item height
+	 */
+	public static void setBounds(Drawable center, Drawable topShadow, Drawable bottomShadow,
+			int width, int height, int itemHeight) {
+		int centerY = height / 2;
+		int offset = (int) (itemHeight / 2 * 1.2);
+		center.setBounds(0, centerY - offset, width, centerY + offset);
+
+		int shadowHeight = (int)(1.5 * itemHeight);
+		topShadow.setBounds(0, 0, width, shadowHeight);
+		bottomShadow.setBounds(0, height - shadowHeight, width, height);
+	}
+
+	/**
+	 * Constructor
+	 * @param resources the resources to load drawables
+	 */
+	private WheelDecorations(Resources resources) {
+		backgroundState = resources.getDrawable(R.drawable.wheel_bg).getConstantState();
+		centerState = resources.getDrawable(R.drawable.wheel_val).getConstantState();
+		topShadowState = new GradientDrawable(Orientation.TOP_BOTTOM, SHADOWS_COLORS).getConstantState();
+		bottomShadowState = new GradientDrawable(Orientation.BOTTOM_TOP, SHADOWS_COLORS).getConstantState();
+
+		center = newCenterDrawable();
+		topShadow = newTopShadow();
+		bottomShadow = newBottomShadow();
+	}
+
+	/**
+	 * Creates background drawable
+	 * @return the new drawable sharing the background state
+	 */
+	public Drawable newBackground() {
+		return backgroundState.newDrawable();
+	}
+
+	/**
+	 * Creates center rect drawable
+	 * @return the new drawable sharing the center rect state
+	 */
+	public Drawable newCenterDrawable() {
+		return centerState.newDrawable();
+	}
+
+	/**
+	 * Creates top shadow drawable
+	 * @return the new drawable sharing the top shadow state
+	 */
+	public Drawable newTopShadow() {
+		return topShadowState.newDrawable();
+	}
+
+	/**
+	 * Creates bottom shadow drawable
+	 * @return the new drawable sharing the bottom shadow state
+	 */
+	public Drawable newBottomShadow() {
+		return bottomShadowState.newDrawable();
+	}
+
+	/**
+	 * Returns layer with rasterized center rect and shadows.
+	 * Layers are cached, so the wheels of the same size share the same bitmap.
+	 * The returned bitmap must not be modified.
+	 *
+	 * @param width the wheel width
+	 * @param height the wheel height
+	 * @param itemHeight the item height
+	 * @return the layer bitmap
+	 */
+	public Bitmap getLayer(int width, int height, int itemHeight) {
+		Iterator<Layer> it = layers.iterator();
+		while (it.hasNext()) {
+			Layer layer = it.next();
+			if (layer.width == width && layer.height == height && layer.itemHeight == itemHeight) {
+				it.remove();
+				layers.addFirst(layer);
+				return layer.bitmap;
+			}
+		}
+
+		Layer layer = new Layer();
+		layer.width = width;
+		layer.height = height;
+		layer.itemHeight = itemHeight;
+		layer.bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+
+		Canvas canvas = new Canvas(layer.bitmap);
+		setBounds(center, topShadow, bottomShadow, width, height, itemHeight);
+		center.draw(canvas);
+		topShadow.draw(canvas);
+		bottomShadow.draw(canvas);
+
+		layers.addFirst(layer);
+		if (layers.size() > MAX_LAYERS) {
+			layers.removeLast();
+		}
+		return layer.bitmap;
+	}
+}
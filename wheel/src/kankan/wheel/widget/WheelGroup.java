@@ -0,0 +1,238 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+import java.util.ArrayList;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Message;
+import android.os.SystemClock;
+import android.view.Choreographer;
+import android.view.animation.AnimationUtils;
+
+/**
+ * Wheel group drives animations of all its wheels from a single frame callback,
+ * so coordinating several wheels costs one scheduler instead of one per wheel.
+ * The group also supports staggered starts and stops of its wheels.
+ */
+public class WheelGroup {
+	/** Delay between animation frames if frame callbacks are not available */
+	private static final int FRAME_DELAY = 1000 / 60;
+
+	/** Frame message */
+	private static final int MESSAGE_FRAME = 0;
+
+	// Wheels
+	private ArrayList<WheelView> wheels = new ArrayList<WheelView>();
+
+	// Scrollers waiting for the next frame
+	private ArrayList<WheelScroller> scrollers = new ArrayList<WheelScroller>();
+
+	// Scrollers handled in the current frame
+	private ArrayList<WheelScroller> frameScrollers = new ArrayList<WheelScroller>();
+
+	// Frame posted flag
+	private boolean isFramePosted;
+
+	// Frame callback, null if frame callbacks are not available
+	private FrameCallback frameCallback;
+
+	// Handler posts frames if frame callbacks are not available and staggered actions
+	private Handler handler = new Handler() {
+		public void handleMessage(Message msg) {
+			doFrame(AnimationUtils.currentAnimationTimeMillis());
+		}
+	};
+
+	/**
+	 * Frame callback handles group frames on display frames.
+	 * It is a separate class so that Choreographer is not loaded before Jelly Bean.
+	 */
+	private static class FrameCallback implements Choreographer.FrameCallback {
+		// Group
+		private WheelGroup group;
+
+		/**
+		 * Constructor
+		 * @param group the group
+		 */
+		FrameCallback(WheelGroup group) {
+			this.group = group;
+		}
+
+		public void doFrame(long frameTimeNanos) {
+			group.doFrame(frameTimeNanos / 1000000);
+		}
+	}
+
+	/**
+	 * Constructor
+	 */
+	public WheelGroup() {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+			frameCallback = new FrameCallback(this);
+		}
+	}
+
+	/**
+	 * Adds wheel to the group
+	 * @param wheel the wheel to add
+	 */
+	public void addWheel(WheelView wheel) {
+		wheels.add(wheel);
+		wheel.setGroup(this);
+	}
+
+	/**
+	 * Removes wheel from the group
+	 * @param wheel the wheel to remove
+	 */
+	public void removeWheel(WheelView wheel) {
+		if (wheels.remove(wheel)) {
+			wheel.setGroup(null);
+		}
+	}
+
+	/**
+	 * Gets count of wheels in the group
+	 * @return the count of wheels
+	 */
+	public int getWheelsCount() {
+		return wheels.size();
+	}
+
+	/**
+	 * Gets wheel of the group
+	 * @param index the wheel index
+	 * @return the wheel
+	 */
+	public WheelView getWheel(int index) {
+		return wheels.get(index);
+	}
+
+	/**
+	 * Spins cyclic wheels continuously. Each next wheel starts after the delay.
+	 * @param itemsPerSecond the spinning speed
+	 * @param startDelay the delay between starts of wheels in milliseconds
+	 */
+	public void spin(final float itemsPerSecond, int startDelay) {
+		cancel();
+		for (int i = 0; i < wheels.size(); i++) {
+			final WheelView wheel = wheels.get(i);
+			postAction(new Runnable() {
+				public void run() {
+					wheel.spin(itemsPerSecond);
+				}
+			}, i * startDelay);
+		}
+	}
+
+	/**
+	 * Stops spinning wheels at the items. Each next wheel stops after the delay.
+	 * @param items the items to stop at, one per wheel
+	 * @param stopDelay the delay between stops of wheels in milliseconds
+	 */
+	public void stopAt(int[] items, int stopDelay) {
+		cancel();
+		int count = Math.min(items.length, wheels.size());
+		for (int i = 0; i < count; i++) {
+			final WheelView wheel = wheels.get(i);
+			final int item = items[i];
+			postAction(new Runnable() {
+				public void run() {
+					wheel.stopAt(item);
+				}
+			}, i * stopDelay);
+		}
+	}
+
+	/**
+	 * Spins cyclic wheels to land on the items. The wheels start together,
+	 * each next wheel lands after the delay.
+	 * @param items the items to land on, one per wheel
+	 * @param minRevolutions the minimum count of full revolutions
+	 * @param duration the spinning duration of the first wheel in milliseconds
+	 * @param stopDelay the delay between stops of wheels in milliseconds
+	 */
+	public void spinTo(int[] items, int minRevolutions, int duration, int stopDelay) {
+		cancel();
+		int count = Math.min(items.length, wheels.size());
+		for (int i = 0; i < count; i++) {
+			wheels.get(i).spinTo(items[i], minRevolutions, duration + i * stopDelay);
+		}
+	}
+
+	/**
+	 * Cancels pending staggered starts and stops
+	 */
+	public void cancel() {
+		handler.removeCallbacksAndMessages(this);
+	}
+
+	/**
+	 * Runs action after the delay
+	 * @param action the action to run
+	 * @param delay the delay in milliseconds
+	 */
+	private void postAction(Runnable action, int delay) {
+		if (delay <= 0) {
+			action.run();
+		} else {
+			handler.postAtTime(action, this, SystemClock.uptimeMillis() + delay);
+		}
+	}
+
+	/**
+	 * Requests the next frame for the scroller
+	 * @param scroller the scroller
+	 */
+	void requestFrame(WheelScroller scroller) {
+		if (!scrollers.contains(scroller)) {
+			scrollers.add(scroller);
+		}
+		if (!isFramePosted) {
+			isFramePosted = true;
+			if (frameCallback != null) {
+				Choreographer.getInstance().postFrameCallback(frameCallback);
+			} else {
+				handler.sendEmptyMessageDelayed(MESSAGE_FRAME, FRAME_DELAY);
+			}
+		}
+	}
+
+	/**
+	 * Performs animation step of all the scrollers waiting for the frame
+	 * @param time the frame time in milliseconds
+	 */
+	private void doFrame(long time) {
+		isFramePosted = false;
+
+		// scrollers request the next frame while they are handled
+		ArrayList<WheelScroller> list = frameScrollers;
+		frameScrollers = scrollers;
+		scrollers = list;
+
+		for (int i = 0; i < frameScrollers.size(); i++) {
+			frameScrollers.get(i).doGroupFrame(this, time);
+		}
+		frameScrollers.clear();
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+/**
+ * Scrolling motion. Position of the motion is a closed-form function of time,
+ * so any frame is calculated directly and skipped frames cost nothing.
+ */
+public interface WheelMotion {
+	/**
+	 * Gets position of the motion
+	 * @param time the time since start in milliseconds
+	 * @return the position in pixels
+	 */
+	public float getPosition(long time);
+
+	/**
+	 * Gets velocity of the motion
+	 * @param time the time since start in milliseconds
+	 * @return the velocity in pixels per second
+	 */
+	public float getVelocity(long time);
+
+	/**
+	 * Gets duration of the motion. The motion is at its final position after this time.
+	 * @return the duration in milliseconds
+	 */
+	public long getDuration();
+
+	/**
+	 * Gets final position of the motion
+	 * @return the distance in pixels
+	 */
+	public float getDistance();
+}
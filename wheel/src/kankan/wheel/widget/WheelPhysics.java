@@ -0,0 +1,61 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+import android.view.animation.Interpolator;
+
+/**
+ * Scrolling physics creates motions used by the wheel scroller.
+ * Motions returned by physics may be reused by the next call, so a physics
+ * instance must not be shared by several wheels running at the same time.
+ */
+public interface WheelPhysics {
+	/**
+	 * Gets distance of fling
+	 * @param velocity the initial velocity in pixels per second
+	 * @return the distance the fling stops at
+	 */
+	public float getFlingDistance(float velocity);
+
+	/**
+	 * Creates fling motion
+	 * @param velocity the initial velocity in pixels per second
+	 * @param distance the distance to stop at, it may differ from the natural fling distance
+	 * @return the fling motion
+	 */
+	public WheelMotion fling(float velocity, float distance);
+
+	/**
+	 * Creates motion snapping to the distance
+	 * @param distance the distance to snap to
+	 * @param velocity the initial velocity in pixels per second
+	 * @return the snap motion
+	 */
+	public WheelMotion snap(float distance, float velocity);
+
+	/**
+	 * Creates motion scrolling to the distance in the specified time
+	 * @param distance the distance to scroll
+	 * @param duration the scrolling duration in milliseconds
+	 * @param interpolator the interpolator, null for the default one
+	 * @return the scroll motion
+	 */
+	public WheelMotion scroll(float distance, int duration, Interpolator interpolator);
+}
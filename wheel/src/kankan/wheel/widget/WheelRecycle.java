@@ -19,21 +19,241 @@
 
 package kankan.wheel.widget;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import kankan.wheel.widget.adapters.AbstractWheelTextAdapter;
+import kankan.wheel.widget.adapters.WheelViewAdapter;
+import kankan.wheel.widget.adapters.WheelViewTypesAdapter;
+import android.os.Process;
+import android.util.Log;
+import android.view.LayoutInflater;
 import android.view.View;
-import android.widget.LinearLayout;
+import android.view.ViewGroup;
 
 /**
  * Recycle stores wheel items to reuse. 
+ * Views are kept in bounded array stacks sized from the visible range,
+ * views exceeding the capacity are dropped. Items views are cached
+ * separately for every view type of adapter.
+ * If a shared view pool is set, views are stored in the pool instead
+ * and reused by all the wheels sharing it.
  */
 public class WheelRecycle {
-	// Cached items
-	private List<View> items;
+	/** Default capacity of caches */
+	private static final int DEFAULT_CAPACITY = 8;
+
+	/** Index of views that do not show any item */
+	private static final int NO_INDEX = -1;
+
+	/** View type of empty items in shared pool */
+	private static final int EMPTY_TYPE = -1;
+
+	/**
+	 * Bounded stack of cached views
+	 */
+	static class ViewStack {
+		// Cached views
+		View[] views;
+		// Indexes of items shown by cached views
+		int[] indexes;
+		// Adapters binding cached views
+		Object[] owners;
+		// Count of cached views
+		int size;
+		// Shared pool limiting count of views, null for private stacks
+		private WheelViewPool pool;
+
+		/**
+		 * Constructor
+		 * @param capacity the stack capacity
+		 * @param pool the shared pool or null
+		 */
+		ViewStack(int capacity, WheelViewPool pool) {
+			views = new View[capacity];
+			indexes = new int[capacity];
+			owners = new Object[capacity];
+			this.pool = pool;
+		}
+
+		/**
+		 * Adds view to stack
+		 * @param view the view
+		 * @param index the index of item shown by view or NO_INDEX
+		 * @param owner the adapter binding view
+		 * @return true if the view is added, false if the stack is full
+		 */
+		boolean push(View view, int index, Object owner) {
+			if (pool != null) {
+				if (!pool.reserve()) {
+					return false;
+				}
+				if (size == views.length) {
+					ensureCapacity(size * 2);
+				}
+			} else if (size == views.length) {
+				return false;
+			}
+			views[size] = view;
+			indexes[size] = index;
+			owners[size] = owner;
+			size++;
+			return true;
+		}
+
+		/**
+		 * Removes view from stack. The order of the rest views is kept,
+		 * so the views are ordered from the oldest to the most recently cached.
+		 * @param position the view position in stack
+		 * @return the removed view
+		 */
+		View remove(int position) {
+			View view = views[position];
+			size--;
+			int count = size - position;
+			if (count > 0) {
+				System.arraycopy(views, position + 1, views, position, count);
+				System.arraycopy(indexes, position + 1, indexes, position, count);
+				System.arraycopy(owners, position + 1, owners, position, count);
+			}
+			views[size] = null;
+			owners[size] = null;
+			if (pool != null) {
+				pool.release();
+			}
+			return view;
+		}
+
+		/**
+		 * Finds view showing the item
+		 * @param index the item index
+		 * @param owner the adapter binding view
+		 * @return the view position in stack or -1 if there is no such view
+		 */
+		int find(int index, Object owner) {
+			for (int i = size - 1; i >= 0; i--) {
+				if (indexes[i] == index && owners[i] == owner) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Forgets items shown by views bound by the adapter
+		 * @param owner the adapter
+		 * @param release true to forget the adapter too, e.g. if it is replaced
+		 */
+		void unbind(Object owner, boolean release) {
+			for (int i = 0; i < size; i++) {
+				if (owners[i] == owner) {
+					indexes[i] = NO_INDEX;
+					if (release) {
+						owners[i] = null;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Removes all views from stack
+		 */
+		void clear() {
+			while (size > 0) {
+				remove(size - 1);
+			}
+		}
+
+		/**
+		 * Ensures capacity of stack
+		 * @param capacity the required capacity
+		 */
+		void ensureCapacity(int capacity) {
+			if (views.length < capacity) {
+				View[] views = new View[capacity];
+				System.arraycopy(this.views, 0, views, 0, size);
+				this.views = views;
+
+				int[] indexes = new int[capacity];
+				System.arraycopy(this.indexes, 0, indexes, 0, size);
+				this.indexes = indexes;
+
+				Object[] owners = new Object[capacity];
+				System.arraycopy(this.owners, 0, owners, 0, size);
+				this.owners = owners;
+			}
+		}
+	}
+
+	// Capacity of caches
+	private int capacity = DEFAULT_CAPACITY;
+
+	// Cached items by view type, created when used
+	private ViewStack[] items = new ViewStack[1];
 	
-	// Cached empty items
-	private List<View> emptyItems;
+	// Cached empty items, created when used
+	private ViewStack emptyItems;
+
+	/**
+	 * Task inflating items views on a background thread. Views are handed over
+	 * as soon as they are inflated through a thread safe queue.
+	 */
+	private static class PrewarmTask implements Runnable {
+		// Inflated views
+		final ConcurrentLinkedQueue<View> views = new ConcurrentLinkedQueue<View>();
+		// Adapter inflating views
+		final AbstractWheelTextAdapter adapter;
+		// Inflater used by the task thread only
+		final LayoutInflater inflater;
+		// Parent of views
+		final ViewGroup parent;
+		// Count of views to be inflated
+		final int count;
+		// Flags
+		volatile boolean isCancelled;
+		volatile boolean isFinished;
+
+		/**
+		 * Constructor
+		 * @param adapter the adapter inflating views
+		 * @param parent the parent of views
+		 * @param count the count of views to be inflated
+		 */
+		PrewarmTask(AbstractWheelTextAdapter adapter, ViewGroup parent, int count) {
+			this.adapter = adapter;
+			this.parent = parent;
+			this.count = count;
+			// the shared inflater of adapter is used on the UI thread meanwhile
+			inflater = adapter.newInflater();
+		}
+
+		public void run() {
+			// do not compete with the UI thread drawing the first frame
+			Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+			try {
+				for (int i = 0; i < count && !isCancelled; i++) {
+					views.add(adapter.newItemView(inflater, parent));
+				}
+			} catch (RuntimeException e) {
+				Log.w("WheelRecycle", "Items views can not be inflated in background", e);
+			}
+			isFinished = true;
+		}
+	}
+
+	// Shared view pool
+	private WheelViewPool pool;
+
+	// Running or not drained prewarm task
+	private PrewarmTask prewarmTask;
+
+	// Adapter the caches are prepared for
+	private WheelViewAdapter cachedAdapter;
+
+	// Statistics
+	private int hits;
+	private int misses;
+	private int evictions;
+	private int boundHits;
 	
 	// Wheel view
 	private WheelView wheel;
@@ -46,22 +266,43 @@ public class WheelRecycle {
 		this.wheel = wheel;
 	}
 
+	/**
+	 * Gets shared view pool
+	 * @return the view pool or null if views are cached privately
+	 */
+	public WheelViewPool getViewPool() {
+		return pool;
+	}
+
+	/**
+	 * Sets shared view pool. Views cached so far are dropped.
+	 * @param pool the view pool or null to cache views privately
+	 */
+	public void setViewPool(WheelViewPool pool) {
+		if (this.pool != pool) {
+			clearAll();
+			this.pool = pool;
+			items = new ViewStack[items.length];
+			emptyItems = null;
+		}
+	}
+
 	/**
 	 * Recycles items from specified layout.
 	 * There are saved only items not included to specified range.
-	 * All the cached items are removed from original layout.
+	 * All the cached items are removed from original layout without requesting a new layout.
 	 * 
 	 * @param layout the layout containing items to be cached
 	 * @param firstItem the number of first item in layout
 	 * @param range the range of current wheel items 
 	 * @return the new value of first item number
 	 */
-	public int recycleItems(LinearLayout layout, int firstItem, ItemsRange range) {
+	public int recycleItems(ViewGroup layout, int firstItem, ItemsRange range) {
 		int index = firstItem;
 		for (int i = 0; i < layout.getChildCount();) {
 			if (!range.contains(index)) {
 				recycleView(layout.getChildAt(i), index);
-				layout.removeViewAt(i);
+				layout.removeViewsInLayout(i, 1);
 				if (i == 0) { // first item
 					firstItem++;
 				}
@@ -74,11 +315,51 @@ public class WheelRecycle {
 	}
 	
 	/**
-	 * Gets item view
+	 * Gets view that already shows the item. Such view may be reused
+	 * without binding until the adapter data is changed.
+	 * @param index the item index
+	 * @return the cached view showing the item or null
+	 */
+	public View getBoundItem(int index) {
+		WheelViewAdapter adapter = wheel.getViewAdapter();
+		ViewStack cache = getItemsCache(getItemViewType(adapter, index));
+		int position = cache.find(index, adapter);
+		if (position >= 0) {
+			hits++;
+			boundHits++;
+			return cache.remove(position);
+		}
+		return null;
+	}
+
+	/**
+	 * Forgets items shown by cached views, so the views are bound again.
+	 * It should be called when the adapter data is changed.
+	 */
+	public void unbindAll() {
+		Object adapter = wheel.getViewAdapter();
+		for (ViewStack cache : items) {
+			if (cache != null) {
+				cache.unbind(adapter, false);
+			}
+		}
+	}
+
+	/**
+	 * Gets item view of the same type as the item
+	 * @param index the item index
 	 * @return the cached view
 	 */
-	public View getItem() {
-		return getCachedView(items);
+	public View getItem(int index) {
+		ViewStack cache = getItemsCache(getItemViewType(wheel.getViewAdapter(), index));
+		if (cache.size == 0) {
+			View view = pollPrewarmedView();
+			if (view != null) {
+				hits++;
+				return view;
+			}
+		}
+		return getCachedView(cache);
 	}
 
 	/**
@@ -86,34 +367,228 @@ public class WheelRecycle {
 	 * @return the cached empty view
 	 */
 	public View getEmptyItem() {
-		return getCachedView(emptyItems);
+		return getCachedView(getEmptyItemsCache());
 	}
 	
 	/**
-	 * Clears all views 
+	 * Clears all views. Caches are prepared for view types of the current adapter.
+	 * Views of the shared pool are kept for other wheels, only the items they show are forgotten.
+	 * The replaced adapter is forgotten too, so pooled views do not keep it.
 	 */
 	public void clearAll() {
-		if (items != null) {
-			items.clear();
+		WheelViewAdapter adapter = wheel.getViewAdapter();
+		if (pool == null) {
+			for (ViewStack cache : items) {
+				if (cache != null) {
+					cache.clear();
+				}
+			}
+			if (emptyItems != null) {
+				emptyItems.clear();
+			}
+		} else if (cachedAdapter != null) {
+			boolean release = cachedAdapter != adapter;
+			for (ViewStack cache : items) {
+				if (cache != null) {
+					cache.unbind(cachedAdapter, release);
+				}
+			}
+			if (emptyItems != null) {
+				emptyItems.unbind(cachedAdapter, release);
+			}
+		}
+		cachedAdapter = adapter;
+
+		int typesCount = adapter instanceof WheelViewTypesAdapter
+				? Math.max(1, ((WheelViewTypesAdapter) adapter).getItemViewTypeCount()) : 1;
+		if (pool != null || items.length != typesCount) {
+			items = new ViewStack[typesCount];
+			emptyItems = null;
+		}
+	}
+
+	/**
+	 * Ensures capacity of caches. Caches never shrink.
+	 * Caches of the shared pool are limited by the pool size only.
+	 * @param capacity the count of views each cache should be able to store
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity <= this.capacity) {
+			return;
+		}
+		this.capacity = capacity;
+		if (pool == null) {
+			for (ViewStack cache : items) {
+				if (cache != null) {
+					cache.ensureCapacity(capacity);
+				}
+			}
+			if (emptyItems != null) {
+				emptyItems.ensureCapacity(capacity);
+			}
+		}
+	}
+
+	/**
+	 * Inflates items views on a background thread. Every inflated view is taken
+	 * by getItem() as soon as it is ready, even while the wheel is measured the first time,
+	 * items needed before that are inflated on the UI thread as usual. Nothing is done
+	 * if the adapter does not support asynchronous inflation. The views are dropped
+	 * if the adapter is changed.
+	 * @param count the count of views to be inflated
+	 */
+	public void prewarm(int count) {
+		WheelViewAdapter viewAdapter = wheel.getViewAdapter();
+		if (count <= 0 || !(viewAdapter instanceof AbstractWheelTextAdapter)) {
+			return;
 		}
-		if (emptyItems != null) {
-			emptyItems.clear();
+		AbstractWheelTextAdapter adapter = (AbstractWheelTextAdapter) viewAdapter;
+		if (!adapter.isAsyncInflationSupported()) {
+			return;
 		}
+
+		if (prewarmTask != null) {
+			prewarmTask.isCancelled = true;
+		}
+		prewarmTask = new PrewarmTask(adapter, wheel, count);
+		new Thread(prewarmTask, "WheelItemsPrewarming").start();
+	}
+
+	/**
+	 * Gets count of views taken from caches
+	 * @return the hits count
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets count of requests that found caches empty
+	 * @return the misses count
+	 */
+	public int getMisses() {
+		return misses;
 	}
 
 	/**
-	 * Adds view to specified cache. Creates a cache list if it is null.
+	 * Gets count of views dropped because caches were full
+	 * @return the evictions count
+	 */
+	public int getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Gets count of views reused without binding since they already showed the item
+	 * @return the count of views reused without binding
+	 */
+	public int getBoundHits() {
+		return boundHits;
+	}
+
+	/**
+	 * Resets hits, misses and evictions counters
+	 */
+	public void resetStats() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+		boundHits = 0;
+	}
+
+	/**
+	 * Gets view type of the item. Adapters not supporting view types have a single type.
+	 * @param adapter the adapter
+	 * @param index the item index
+	 * @return the view type
+	 */
+	private static int getItemViewType(WheelViewAdapter adapter, int index) {
+		return adapter instanceof WheelViewTypesAdapter
+				? ((WheelViewTypesAdapter) adapter).getItemViewType(index) : 0;
+	}
+
+	/**
+	 * Gets cache of items views of the type. Creates the cache if necessary.
+	 * @param type the view type
+	 * @return the cache
+	 */
+	private ViewStack getItemsCache(int type) {
+		if (type >= items.length) {
+			ViewStack[] caches = new ViewStack[type + 1];
+			System.arraycopy(items, 0, caches, 0, items.length);
+			items = caches;
+		}
+		if (items[type] == null) {
+			items[type] = pool != null
+					? pool.getStack(getLayoutTag(false), type)
+					: new ViewStack(capacity, null);
+		}
+		return items[type];
+	}
+
+	/**
+	 * Gets cache of empty items views. Creates the cache if necessary.
+	 * @return the cache
+	 */
+	private ViewStack getEmptyItemsCache() {
+		if (emptyItems == null) {
+			emptyItems = pool != null
+					? pool.getStack(getLayoutTag(true), EMPTY_TYPE)
+					: new ViewStack(capacity, null);
+		}
+		return emptyItems;
+	}
+
+	/**
+	 * Gets tag of layout used by adapter to create views. Text adapters are tagged
+	 * by items resources, so different adapters using the same layout share views.
+	 * Other adapters are tagged by class.
+	 * @param empty true to get tag of empty items layout
+	 * @return the layout tag
+	 */
+	private Object getLayoutTag(boolean empty) {
+		WheelViewAdapter adapter = wheel.getViewAdapter();
+		if (adapter instanceof AbstractWheelTextAdapter) {
+			AbstractWheelTextAdapter textAdapter = (AbstractWheelTextAdapter) adapter;
+			return empty ? textAdapter.getEmptyItemResource() : textAdapter.getItemResource();
+		}
+		return adapter.getClass();
+	}
+
+	/**
+	 * Takes view inflated in background. The prewarm task is dropped
+	 * if the adapter is changed or all its views are taken.
+	 * @return the inflated view or null if there is no inflated view
+	 */
+	private View pollPrewarmedView() {
+		PrewarmTask task = prewarmTask;
+		if (task == null) {
+			return null;
+		}
+		if (task.adapter != wheel.getViewAdapter()) {
+			task.isCancelled = true;
+			prewarmTask = null;
+			return null;
+		}
+
+		boolean isFinished = task.isFinished;
+		View view = task.views.poll();
+		if (view == null && isFinished) {
+			prewarmTask = null;
+		}
+		return view;
+	}
+
+	/**
+	 * Adds view to specified cache. The view is dropped if the cache is full.
 	 * @param view the view to be cached
-	 * @param cache the cache list
-	 * @return the cache list
+	 * @param cache the cache
+	 * @param index the index of item shown by view or NO_INDEX
 	 */
-	private List<View> addView(View view, List<View> cache) {
-		if (cache == null) {
-			cache = new LinkedList<View>();
+	private void addView(View view, ViewStack cache, int index) {
+		if (!cache.push(view, index, wheel.getViewAdapter())) {
+			evictions++;
 		}
-		
-		cache.add(view);
-		return cache;
 	}
 
 	/**
@@ -122,31 +597,41 @@ public class WheelRecycle {
 	 * @param index the index of view
 	 */
 	private void recycleView(View view, int index) {
-		int count = wheel.getViewAdapter().getItemsCount();
+		WheelViewAdapter adapter = wheel.getViewAdapter();
+		int count = adapter.getItemsCount();
 
-		if ((index < 0 || index >= count) && !wheel.isCyclic()) {
+		if ((index < 0 || index >= count) && (!wheel.isCyclic() || count == 0)) {
 			// empty view
-			emptyItems = addView(view, emptyItems);
+			addView(view, getEmptyItemsCache(), NO_INDEX);
 		} else {
-			while (index < 0) {
-				index = count + index;
-			}
 			index %= count;
-			items = addView(view, items);
+			if (index < 0) {
+				index += count;
+			}
+			addView(view, getItemsCache(getItemViewType(adapter, index)), index);
 		}
 	}
 	
 	/**
-	 * Gets view from specified cache.
+	 * Gets view from specified cache. Views not showing any item are taken first,
+	 * otherwise the oldest view is taken since the recently cached views are more
+	 * likely to show their items again.
 	 * @param cache the cache
-	 * @return the first view from cache.
+	 * @return the cached view or null if cache is empty
 	 */
-	private View getCachedView(List<View> cache) {
-		if (cache != null && cache.size() > 0) {
-			View view = cache.get(0);
-			cache.remove(0);
-			return view;
+	private View getCachedView(ViewStack cache) {
+		if (cache.size > 0) {
+			hits++;
+			int position = 0;
+			for (int i = 0; i < cache.size; i++) {
+				if (cache.indexes[i] == NO_INDEX) {
+					position = i;
+					break;
+				}
+			}
+			return cache.remove(position);
 		}
+		misses++;
 		return null;
 	}
 
@@ -20,13 +20,16 @@
 package kankan.wheel.widget;
 
 import android.content.Context;
+import android.os.Build;
 import android.os.Handler;
 import android.os.Message;
-import android.view.GestureDetector;
+import android.view.Choreographer;
 import android.view.MotionEvent;
-import android.view.GestureDetector.SimpleOnGestureListener;
+import android.view.VelocityTracker;
+import android.view.ViewConfiguration;
+import android.view.animation.AnimationUtils;
+import android.view.animation.DecelerateInterpolator;
 import android.view.animation.Interpolator;
-import android.widget.Scroller;
 
 /**
  * Scroller class handles scrolling events and updates the 
@@ -56,6 +59,21 @@ public class WheelScroller {
          * Justifying callback called to justify a view when scrolling is ended
          */
         void onJustify();
+
+        /**
+         * Fling callback called when fling is started to adjust its distance,
+         * so the fling stops exactly on an item.
+         * @param distance the predicted fling distance
+         * @return the adjusted fling distance
+         */
+        int onFling(int distance);
+
+        /**
+         * Drag frame callback called when the dragged wheel position is updated
+         * @param inputLatency the time from the latest touch sample to the frame
+         * @param predictedTime the time the position is predicted ahead, zero if prediction is disabled
+         */
+        void onDragFrame(long inputLatency, long predictedTime);
     }
     
     /** Scrolling duration */
@@ -64,32 +82,95 @@ public class WheelScroller {
     /** Minimum delta for scrolling */
     public static final int MIN_DELTA_FOR_SCROLLING = 1;
 
+    /** Delay between animation frames if frame callbacks are not available */
+    private static final int FRAME_DELAY = 1000 / 60;
+
+    /** Touch samples older than this are not used for prediction */
+    private static final int MAX_SAMPLE_AGE = 50;
+
+    /** Count of touch samples used for prediction */
+    private static final int PREDICTION_SAMPLES = 3;
+
+    /** Interpolator used to stop spinning with constant deceleration */
+    private static final Interpolator SPIN_STOP_INTERPOLATOR = new DecelerateInterpolator();
+
     // Listener
     private ScrollingListener listener;
     
-    // Context
-    private Context context;
-    
     // Scrolling
-    private GestureDetector gestureDetector;
-    private Scroller scroller;
     private int lastScrollY;
     private float lastTouchedY;
+    private boolean isDragging;
     private boolean isScrollingPerformed;
 
+    // Velocity tracker shared by all the wheels, only the last touched wheel is tracked
+    private static VelocityTracker velocityTracker;
+    private static WheelScroller velocityTrackerOwner;
+
+    // Gesture thresholds
+    private int touchSlop;
+    private int minFlingVelocity;
+    private int maxFlingVelocity;
+
+    // Fling momentum: maximum velocity multiplier and velocity carried from the interrupted fling
+    private float flingMomentumMultiplier = 1;
+    private float carriedVelocity;
+    private boolean isFlinging;
+
+    // Touch distance not passed to the listener yet
+    private float dragDelta;
+
+    // Touch prediction time in milliseconds, zero if prediction is disabled
+    private int predictionTime;
+
+    // Predicted distance added to the wheel position
+    private float prediction;
+
+    // Recent touch samples, the latest is the last one
+    private float[] samplesY = new float[PREDICTION_SAMPLES];
+    private long[] samplesTime = new long[PREDICTION_SAMPLES];
+    private int samplesCount;
+
+    // Scrolling physics
+    private WheelPhysics physics;
+    private Interpolator interpolator;
+
+    // Current motion, null if there is no animation
+    private WheelMotion motion;
+    private long motionStartTime;
+
+    // Spinning velocity in pixels per second, zero if the wheel is not spinning
+    private float spinVelocity;
+    private long lastSpinTime;
+    private float spinRemainder;
+
+    // Frame callback, null if frame callbacks are not available
+    private FrameCallback frameCallback;
+
+    // Group driving the animation, null if the scroller drives it itself
+    private WheelGroup group;
+
+    // Message to be handled on the next frame
+    private int pendingMessage = MESSAGE_NONE;
+
     /**
      * Constructor
      * @param context the current context
      * @param listener the scrolling listener
      */
     public WheelScroller(Context context, ScrollingListener listener) {
-        gestureDetector = new GestureDetector(context, gestureListener);
-        gestureDetector.setIsLongpressEnabled(false);
-        
-        scroller = new Scroller(context);
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        touchSlop = configuration.getScaledTouchSlop();
+        minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+
+        physics = new DefaultWheelPhysics(context);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            frameCallback = new FrameCallback(this);
+        }
 
         this.listener = listener;
-        this.context = context;
     }
     
     /**
@@ -97,8 +178,25 @@ public class WheelScroller {
      * @param interpolator the interpolator
      */
     public void setInterpolator(Interpolator interpolator) {
-        scroller.forceFinished(true);
-        scroller = new Scroller(context, interpolator);
+        this.interpolator = interpolator;
+    }
+
+    /**
+     * Gets scrolling physics
+     * @return the scrolling physics
+     */
+    public WheelPhysics getPhysics() {
+        return physics;
+    }
+
+    /**
+     * Sets scrolling physics. Stops the current animation.
+     * The physics must not be shared with other scrollers since its motions are reused.
+     * @param physics the scrolling physics
+     */
+    public void setPhysics(WheelPhysics physics) {
+        stopScrolling();
+        this.physics = physics;
     }
     
     /**
@@ -107,23 +205,272 @@ public class WheelScroller {
      * @param time the scrolling duration
      */
     public void scroll(int distance, int time) {
-        scroller.forceFinished(true);
-
-        lastScrollY = 0;
-        
-        scroller.startScroll(0, 0, 0, distance, time != 0 ? time : SCROLLING_DURATION);
+        startMotion(physics.scroll(distance, time != 0 ? time : SCROLLING_DURATION, interpolator));
         setNextMessage(MESSAGE_SCROLL);
         
         startScrolling();
     }
+
+    /**
+     * Snaps the wheel to the distance keeping the current velocity
+     * @param distance the snapping distance
+     */
+    public void snap(int distance) {
+        float velocity = getVelocity();
+        startMotion(physics.snap(distance, velocity));
+        setNextMessage(MESSAGE_SCROLL);
+
+        startScrolling();
+    }
+   
+    /**
+     * Redirects the current animation to the distance keeping its position and velocity.
+     * The scrolling is not restarted, so listeners are notified once per continuous motion.
+     * Starts a new scrolling if there is no animation.
+     * @param distance the distance from the current position
+     */
+    public void retarget(int distance) {
+        if (motion == null && spinVelocity == 0) {
+            scroll(distance, 0);
+            return;
+        }
+
+        float velocity = getVelocity();
+        startMotion(physics.snap(distance, velocity));
+        setNextMessage(MESSAGE_SCROLL);
+    }
+   
+    /**
+     * Spins the wheel continuously until it is stopped
+     * @param velocity the spinning velocity in pixels per second
+     */
+    public void spin(float velocity) {
+        motion = null;
+        isFlinging = false;
+        spinVelocity = velocity;
+        spinRemainder = 0;
+        lastSpinTime = AnimationUtils.currentAnimationTimeMillis();
+        setNextMessage(MESSAGE_SCROLL);
+
+        startScrolling();
+    }
+
+    /**
+     * Tests if the wheel is spinning
+     * @return true if the wheel is spinning
+     */
+    public boolean isSpinning() {
+        return spinVelocity != 0;
+    }
+
+    /**
+     * Gets spinning velocity
+     * @return the velocity in pixels per second, zero if the wheel is not spinning
+     */
+    public float getSpinVelocity() {
+        return spinVelocity;
+    }
+
+    /**
+     * Decelerates the spinning wheel to stop at the distance.
+     * The distance should be in the spinning direction, the stopping time
+     * is twice the distance divided by the spinning velocity.
+     * @param distance the distance from the current position
+     */
+    public void stopSpinning(int distance) {
+        if (spinVelocity == 0) {
+            scroll(distance, 0);
+            return;
+        }
+
+        int duration = Math.max(1, (int) (2000.0f * Math.abs(distance / spinVelocity)));
+        startMotion(physics.scroll(distance, duration, SPIN_STOP_INTERPOLATOR));
+        setNextMessage(MESSAGE_SCROLL);
+    }
    
     /**
      * Stops scrolling
      */
     public void stopScrolling() {
-        scroller.forceFinished(true);
+        motion = null;
+        isFlinging = false;
+        spinVelocity = 0;
+    }
+
+    /**
+     * Starts motion from the current position
+     * @param motion the motion to start
+     */
+    private void startMotion(WheelMotion motion) {
+        this.motion = motion;
+        isFlinging = false;
+        spinVelocity = 0;
+        motionStartTime = AnimationUtils.currentAnimationTimeMillis();
+        lastScrollY = 0;
+    }
+
+    /**
+     * Gets velocity of the current motion
+     * @return the velocity in pixels per second
+     */
+    private float getVelocity() {
+        if (spinVelocity != 0) {
+            return spinVelocity;
+        }
+        if (motion == null) {
+            return 0;
+        }
+        return motion.getVelocity(AnimationUtils.currentAnimationTimeMillis() - motionStartTime);
     }
     
+    /**
+     * Gets minimum velocity that starts fling
+     * @return the velocity in pixels per second
+     */
+    public int getMinFlingVelocity() {
+        return minFlingVelocity;
+    }
+
+    /**
+     * Sets minimum velocity that starts fling. Slower touches are justified.
+     * @param velocity the velocity in pixels per second
+     */
+    public void setMinFlingVelocity(int velocity) {
+        minFlingVelocity = velocity;
+    }
+
+    /**
+     * Gets maximum fling velocity
+     * @return the velocity in pixels per second
+     */
+    public int getMaxFlingVelocity() {
+        return maxFlingVelocity;
+    }
+
+    /**
+     * Sets maximum fling velocity. Faster flings are started with this velocity.
+     * @param velocity the velocity in pixels per second
+     */
+    public void setMaxFlingVelocity(int velocity) {
+        maxFlingVelocity = velocity;
+    }
+
+    /**
+     * Gets fling momentum multiplier
+     * @return the multiplier of maximum fling velocity
+     */
+    public float getFlingMomentumMultiplier() {
+        return flingMomentumMultiplier;
+    }
+
+    /**
+     * Sets fling momentum multiplier. A fling started while the previous fling
+     * is moving in the same direction adds to its velocity, up to the maximum
+     * fling velocity multiplied by this value.
+     * @param multiplier the multiplier, 0 disables momentum
+     */
+    public void setFlingMomentumMultiplier(float multiplier) {
+        flingMomentumMultiplier = multiplier;
+    }
+
+    /**
+     * Gets touch prediction time
+     * @return the prediction time in milliseconds, zero if prediction is disabled
+     */
+    public int getTouchPrediction() {
+        return predictionTime;
+    }
+
+    /**
+     * Sets touch prediction time. While dragging, the wheel is drawn ahead of the latest
+     * touch sample, extrapolated from recent velocity and acceleration. The prediction
+     * is corrected on every next sample.
+     * @param time the prediction time in milliseconds, zero to disable prediction
+     */
+    public void setTouchPrediction(int time) {
+        predictionTime = time;
+    }
+
+    /**
+     * Adds touch sample to the drag distance
+     * @param y the touch position
+     * @param time the sample time
+     */
+    private void addDragSample(float y, long time) {
+        dragDelta += y - lastTouchedY;
+        lastTouchedY = y;
+
+        if (samplesCount == PREDICTION_SAMPLES) {
+            System.arraycopy(samplesY, 1, samplesY, 0, PREDICTION_SAMPLES - 1);
+            System.arraycopy(samplesTime, 1, samplesTime, 0, PREDICTION_SAMPLES - 1);
+            samplesCount--;
+        }
+        samplesY[samplesCount] = y;
+        samplesTime[samplesCount] = time;
+        samplesCount++;
+    }
+
+    /**
+     * Updates predicted distance for the frame. The change of prediction
+     * is added to the drag distance.
+     * @param prediction the new predicted distance
+     */
+    private void setPrediction(float prediction) {
+        dragDelta += prediction - this.prediction;
+        this.prediction = prediction;
+    }
+
+    /**
+     * Predicts touch distance ahead of the latest sample
+     * @param time the frame time
+     * @return the predicted distance from the latest sample
+     */
+    private float predict(long time) {
+        if (predictionTime == 0 || samplesCount < 2) {
+            return 0;
+        }
+
+        int last = samplesCount - 1;
+        long age = time - samplesTime[last];
+        float dt = samplesTime[last] - samplesTime[last - 1];
+        if (age > MAX_SAMPLE_AGE || dt <= 0) {
+            return 0;
+        }
+
+        // velocity and acceleration in pixels per millisecond
+        float velocity = (samplesY[last] - samplesY[last - 1]) / dt;
+        float acceleration = 0;
+        if (samplesCount > 2) {
+            float dt0 = samplesTime[last - 1] - samplesTime[last - 2];
+            if (dt0 > 0) {
+                float velocity0 = (samplesY[last - 1] - samplesY[last - 2]) / dt0;
+                acceleration = 2 * (velocity - velocity0) / (dt + dt0);
+            }
+        }
+
+        float horizon = Math.max(0, age) + predictionTime;
+        float distance = velocity * horizon + acceleration * horizon * horizon / 2;
+
+        // never predict reversing or running far ahead of the finger
+        if (distance * velocity <= 0) {
+            return 0;
+        }
+        float limit = 2 * Math.abs(velocity) * horizon;
+        return Math.max(-limit, Math.min(distance, limit));
+    }
+
+    /**
+     * Scrolls the wheel by the whole pixels of accumulated drag distance.
+     * The fraction is kept for the next frame.
+     */
+    private void flushDrag() {
+        int delta = (int) dragDelta;
+        if (delta != 0) {
+            dragDelta -= delta;
+            listener.onScroll(delta);
+        }
+    }
+
     /**
      * Handles Touch event 
      * @param event the motion event
@@ -132,50 +479,137 @@ public class WheelScroller {
     public boolean onTouchEvent(MotionEvent event) {
         switch (event.getAction()) {
             case MotionEvent.ACTION_DOWN:
+                if (velocityTracker == null) {
+                    velocityTracker = VelocityTracker.obtain();
+                } else {
+                    velocityTracker.clear();
+                }
+                velocityTrackerOwner = this;
+                velocityTracker.addMovement(event);
+
+                // keep velocity of interrupted fling for the next one
+                carriedVelocity = isFlinging ? getVelocity() : 0;
+
                 lastTouchedY = event.getY();
-                scroller.forceFinished(true);
+                isDragging = false;
+                dragDelta = 0;
+                prediction = 0;
+                samplesCount = 0;
+                addDragSample(event.getY(), event.getEventTime());
+                stopScrolling();
                 clearMessages();
                 break;
     
             case MotionEvent.ACTION_MOVE:
-                // perform scrolling
-                int distanceY = (int)(event.getY() - lastTouchedY);
-                if (distanceY != 0) {
+                if (velocityTrackerOwner == this) {
+                    velocityTracker.addMovement(event);
+                }
+
+                // drag is started when touch moves beyond the slop, so taps are not scrolled
+                if (!isDragging) {
+                    float distance = event.getY() - lastTouchedY;
+                    if (Math.abs(distance) <= touchSlop) {
+                        break;
+                    }
+                    isDragging = true;
+                    lastTouchedY += distance > 0 ? touchSlop : -touchSlop;
+                }
+
+                // accumulate all the samples batched into the event,
+                // scrolling is performed once per frame
+                int historySize = event.getHistorySize();
+                for (int i = 0; i < historySize; i++) {
+                    addDragSample(event.getHistoricalY(i), event.getHistoricalEventTime(i));
+                }
+                addDragSample(event.getY(), event.getEventTime());
+                if (dragDelta != 0) {
                     startScrolling();
-                    listener.onScroll(distanceY);
-                    lastTouchedY = event.getY();
+                    if (pendingMessage == MESSAGE_NONE) {
+                        postFrameMessage(MESSAGE_DRAG);
+                    }
                 }
                 break;
-        }
-        
-        if (!gestureDetector.onTouchEvent(event) && event.getAction() == MotionEvent.ACTION_UP) {
-            justify();
+
+            case MotionEvent.ACTION_UP:
+                setPrediction(0);
+                flushDrag();
+
+                float velocityY = 0;
+                if (velocityTrackerOwner == this) {
+                    velocityTracker.addMovement(event);
+                    velocityTracker.computeCurrentVelocity(1000, maxFlingVelocity);
+                    velocityY = velocityTracker.getYVelocity();
+                    velocityTrackerOwner = null;
+                }
+                if (isDragging && Math.abs(velocityY) > minFlingVelocity) {
+                    fling(velocityY);
+                } else {
+                    justify();
+                }
+                break;
+
+            case MotionEvent.ACTION_CANCEL:
+                if (velocityTrackerOwner == this) {
+                    velocityTrackerOwner = null;
+                }
+                setPrediction(0);
+                flushDrag();
+                justify();
+                break;
         }
 
         return true;
     }
-    
-    // gesture listener
-    private SimpleOnGestureListener gestureListener = new SimpleOnGestureListener() {
-        public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
-            // Do scrolling in onTouchEvent() since onScroll() are not call immediately
-            //  when user touch and move the wheel
-            return true;
-        }
-        
-        public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-            lastScrollY = 0;
-            final int maxY = 0x7FFFFFFF;
-            final int minY = -maxY;
-            scroller.fling(0, lastScrollY, 0, (int) -velocityY, 0, 0, minY, maxY);
-            setNextMessage(MESSAGE_SCROLL);
-            return true;
+
+    /**
+     * Flings the wheel
+     * @param velocityY the touch velocity in pixels per second
+     */
+    private void fling(float velocityY) {
+        // motions move in the opposite direction
+        float velocity = -velocityY;
+        if (flingMomentumMultiplier > 0 && carriedVelocity * velocity > 0) {
+            float limit = maxFlingVelocity * flingMomentumMultiplier;
+            velocity = Math.max(-limit, Math.min(velocity + carriedVelocity, limit));
         }
-    };
+        carriedVelocity = 0;
+
+        int distance = Math.round(physics.getFlingDistance(velocity));
+        distance = -listener.onFling(-distance);
+        startMotion(physics.fling(velocity, distance));
+        isFlinging = true;
+        setNextMessage(MESSAGE_SCROLL);
+    }
 
     // Messages
+    private static final int MESSAGE_NONE = -1;
     private final int MESSAGE_SCROLL = 0;
     private final int MESSAGE_JUSTIFY = 1;
+    private final int MESSAGE_DRAG = 2;
+
+    /**
+     * Sets group driving the animation. The pending animation frame is moved to the group.
+     * @param group the group or null to drive the animation by the scroller
+     */
+    void setGroup(WheelGroup group) {
+        int message = pendingMessage;
+        clearMessages();
+        this.group = group;
+        if (message != MESSAGE_NONE) {
+            setNextMessage(message);
+        }
+    }
+
+    /**
+     * Performs animation step requested from the group
+     * @param group the group driving the animation
+     * @param time the frame time in milliseconds
+     */
+    void doGroupFrame(WheelGroup group, long time) {
+        if (this.group == group && pendingMessage != MESSAGE_NONE) {
+            doAnimationFrame(pendingMessage, time);
+        }
+    }
     
     /**
      * Set next message to queue. Clears queue before.
@@ -184,43 +618,153 @@ public class WheelScroller {
      */
     private void setNextMessage(int message) {
         clearMessages();
-        animationHandler.sendEmptyMessage(message);
+        pendingMessage = message;
+        if (group != null) {
+            group.requestFrame(this);
+        } else if (frameCallback != null) {
+            frameCallback.post(message);
+        } else {
+            animationHandler.sendEmptyMessage(message);
+        }
+    }
+
+    /**
+     * Posts message to be handled on the next animation frame
+     * 
+     * @param message the message to post
+     */
+    private void postFrameMessage(int message) {
+        pendingMessage = message;
+        if (group != null) {
+            group.requestFrame(this);
+        } else if (frameCallback != null) {
+            frameCallback.post(message);
+        } else {
+            animationHandler.sendEmptyMessageDelayed(message, FRAME_DELAY);
+        }
     }
 
     /**
      * Clears messages from queue
      */
     private void clearMessages() {
+        pendingMessage = MESSAGE_NONE;
         animationHandler.removeMessages(MESSAGE_SCROLL);
         animationHandler.removeMessages(MESSAGE_JUSTIFY);
+        animationHandler.removeMessages(MESSAGE_DRAG);
+        if (frameCallback != null) {
+            frameCallback.cancel();
+        }
     }
     
-    // animation handler
+    // animation handler, used if frame callbacks are not available
     private Handler animationHandler = new Handler() {
         public void handleMessage(Message msg) {
-            scroller.computeScrollOffset();
-            int currY = scroller.getCurrY();
+            doAnimationFrame(msg.what, AnimationUtils.currentAnimationTimeMillis());
+        }
+    };
+
+    /**
+     * Frame callback handles animation messages on display frames.
+     * It is a separate class so that Choreographer is not loaded before Jelly Bean.
+     */
+    private static class FrameCallback implements Choreographer.FrameCallback {
+        // Scroller
+        private WheelScroller scroller;
+        // Message to be handled
+        private int message;
+        // Posted flag
+        private boolean isPosted;
+
+        /**
+         * Constructor
+         * @param scroller the scroller
+         */
+        FrameCallback(WheelScroller scroller) {
+            this.scroller = scroller;
+        }
+
+        /**
+         * Posts message to the next frame
+         * @param message the message to handle
+         */
+        void post(int message) {
+            this.message = message;
+            if (!isPosted) {
+                isPosted = true;
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+        }
+
+        /**
+         * Cancels posted message
+         */
+        void cancel() {
+            if (isPosted) {
+                isPosted = false;
+                Choreographer.getInstance().removeFrameCallback(this);
+            }
+        }
+
+        public void doFrame(long frameTimeNanos) {
+            isPosted = false;
+            scroller.doAnimationFrame(message, frameTimeNanos / 1000000);
+        }
+    }
+
+    /**
+     * Performs animation step. Motion position is calculated for the frame time.
+     * 
+     * @param message the animation message
+     * @param time the frame time in milliseconds
+     */
+    private void doAnimationFrame(int message, long time) {
+        pendingMessage = MESSAGE_NONE;
+        if (message == MESSAGE_DRAG) {
+            setPrediction(predict(time));
+            flushDrag();
+            if (samplesCount > 0) {
+                listener.onDragFrame(time - samplesTime[samplesCount - 1], prediction != 0 ? predictionTime : 0);
+            }
+            // keep frames coming until the prediction is removed
+            if (prediction != 0 && pendingMessage == MESSAGE_NONE) {
+                postFrameMessage(MESSAGE_DRAG);
+            }
+            return;
+        }
+        flushDrag();
+
+        if (spinVelocity != 0) {
+            // only the distance since the last frame is calculated, so frames cost
+            // the same regardless of the spinning time
+            float distance = spinVelocity * Math.max(0, time - lastSpinTime) / 1000.0f + spinRemainder;
+            lastSpinTime = time;
+            int delta = (int) distance;
+            spinRemainder = distance - delta;
+            if (delta != 0) {
+                listener.onScroll(-delta);
+            }
+        } else if (motion != null) {
+            long elapsed = Math.max(0, time - motionStartTime);
+            int currY = Math.round(motion.getPosition(elapsed));
             int delta = lastScrollY - currY;
             lastScrollY = currY;
+            if (elapsed >= motion.getDuration()) {
+                motion = null;
+            }
             if (delta != 0) {
                 listener.onScroll(delta);
             }
-            
-            // scrolling is not finished when it comes to final Y
-            // so, finish it manually 
-            if (Math.abs(currY - scroller.getFinalY()) < MIN_DELTA_FOR_SCROLLING) {
-                currY = scroller.getFinalY();
-                scroller.forceFinished(true);
-            }
-            if (!scroller.isFinished()) {
-                animationHandler.sendEmptyMessage(msg.what);
-            } else if (msg.what == MESSAGE_SCROLL) {
-                justify();
-            } else {
-                finishScrolling();
-            }
         }
-    };
+        
+        if (motion != null || spinVelocity != 0) {
+            postFrameMessage(message);
+        } else if (message == MESSAGE_SCROLL) {
+            justify();
+        } else {
+            finishScrolling();
+        }
+    }
     
     /**
      * Justifies wheel
@@ -0,0 +1,175 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import kankan.wheel.widget.adapters.WheelViewAdapter;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+
+/**
+ * Snapshot cache stores rasterized items views to draw them while scrolling.
+ * Snapshots are keyed by adapter and item index, the least recently used
+ * snapshots are evicted when the cache exceeds its size in bytes.
+ */
+public class WheelSnapshotCache {
+	/** Key used for empty items */
+	public static final int EMPTY_ITEM = -1;
+
+	/**
+	 * Item snapshot
+	 */
+	public static class Snapshot {
+		// Rasterized view, null if there is no view for item
+		private Bitmap bitmap;
+
+		// Left offset of view
+		private int left;
+
+		/**
+		 * Draws snapshot at the current canvas origin
+		 * @param canvas the canvas for drawing
+		 */
+		public void draw(Canvas canvas) {
+			if (bitmap != null) {
+				canvas.drawBitmap(bitmap, left, 0, null);
+			}
+		}
+
+		/**
+		 * Returns snapshot size in bytes
+		 * @return the snapshot size
+		 */
+		private int getSize() {
+			return bitmap != null ? bitmap.getRowBytes() * bitmap.getHeight() : 0;
+		}
+	}
+
+	// Maximum size in bytes
+	private int maxSize;
+
+	// Current size in bytes
+	private int size;
+
+	// Adapter the snapshots belong to
+	private WheelViewAdapter adapter;
+
+	// Snapshots in access order
+	private LinkedHashMap<Integer, Snapshot> snapshots =
+		new LinkedHashMap<Integer, Snapshot>(16, 0.75f, true);
+
+	/**
+	 * Gets maximum cache size
+	 * @return the maximum size in bytes
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Sets maximum cache size. Zero size disables cache.
+	 * @param maxSize the maximum size in bytes
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+		trimToSize(maxSize);
+	}
+
+	/**
+	 * Tests if cache is enabled
+	 * @return true if cache size is not zero
+	 */
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	/**
+	 * Gets snapshot of item
+	 * @param adapter the adapter
+	 * @param index the item index or EMPTY_ITEM
+	 * @return the snapshot or null if item is not cached
+	 */
+	public Snapshot get(WheelViewAdapter adapter, int index) {
+		if (adapter != this.adapter) {
+			return null;
+		}
+		return snapshots.get(index);
+	}
+
+	/**
+	 * Rasterizes item view and puts it to cache
+	 * @param adapter the adapter
+	 * @param index the item index or EMPTY_ITEM
+	 * @param view the laid out item view, null if there is no view for item
+	 */
+	public void put(WheelViewAdapter adapter, int index, View view) {
+		if (adapter != this.adapter) {
+			clear();
+			this.adapter = adapter;
+		}
+
+		Snapshot snapshot = new Snapshot();
+		if (view != null) {
+			int width = view.getWidth();
+			int height = view.getHeight();
+			if (width == 0 || height == 0 || width * height * 4 > maxSize) {
+				return;
+			}
+
+			snapshot.bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+			snapshot.left = view.getLeft();
+			view.draw(new Canvas(snapshot.bitmap));
+		}
+
+		Snapshot old = snapshots.put(index, snapshot);
+		if (old != null) {
+			size -= old.getSize();
+		}
+		size += snapshot.getSize();
+		trimToSize(maxSize);
+	}
+
+	/**
+	 * Clears all snapshots
+	 */
+	public void clear() {
+		trimToSize(-1);
+		adapter = null;
+	}
+
+	/**
+	 * Evicts the least recently used snapshots until the cache fits the size.
+	 * Bitmaps are not recycled explicitly since they may still be referenced
+	 * by the last drawn frame.
+	 * @param maxSize the size to fit
+	 */
+	private void trimToSize(int maxSize) {
+		Iterator<Map.Entry<Integer, Snapshot>> it = snapshots.entrySet().iterator();
+		while (size > maxSize && it.hasNext()) {
+			Snapshot snapshot = it.next().getValue();
+			it.remove();
+			size -= snapshot.getSize();
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget;
+
+import kankan.wheel.widget.adapters.WheelTextAdapter;
+import android.graphics.Canvas;
+import android.text.BoringLayout;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.SparseArray;
+
+/**
+ * Text renderer draws labels of text adapters directly on canvas.
+ * All the items share the same paint, text layouts are cached by item index.
+ */
+public class WheelTextRenderer {
+	/** Maximum count of cached layouts */
+	private static final int MAX_CACHED_LAYOUTS = 64;
+
+	// Text adapter
+	private WheelTextAdapter adapter;
+
+	// Shared paint
+	private TextPaint paint = new TextPaint();
+
+	// Cached layouts
+	private SparseArray<Layout> layouts = new SparseArray<Layout>();
+
+	/**
+	 * Sets text adapter. Configures paint and clears cached layouts.
+	 * @param adapter the text adapter
+	 */
+	public void setAdapter(WheelTextAdapter adapter) {
+		this.adapter = adapter;
+		clear();
+	}
+
+	/**
+	 * Clears all cached layouts and reconfigures paint
+	 */
+	public void clear() {
+		layouts.clear();
+		if (adapter != null) {
+			adapter.configureTextPaint(paint);
+		}
+	}
+
+	/**
+	 * Returns height of one item including font padding
+	 * @return the item height
+	 */
+	public int getItemHeight() {
+		return adapter != null ? adapter.getLabelHeight() : 0;
+	}
+
+	/**
+	 * Returns width of the item label
+	 * @param index the item index
+	 * @return the label width
+	 */
+	public int getItemWidth(int index) {
+		return getLayout(index).getWidth();
+	}
+
+	/**
+	 * Draws item label centered horizontally at the current canvas origin
+	 * @param canvas the canvas for drawing
+	 * @param index the item index
+	 * @param width the available width
+	 */
+	public void drawItem(Canvas canvas, int index, int width) {
+		Layout layout = getLayout(index);
+		int left = (width - layout.getWidth()) / 2;
+
+		canvas.save();
+		canvas.translate(left, 0);
+		layout.draw(canvas);
+		canvas.restore();
+	}
+
+	/**
+	 * Returns cached layout of item. Creates a new one if necessary
+	 * @param index the item index
+	 * @return the item layout
+	 */
+	private Layout getLayout(int index) {
+		Layout layout = layouts.get(index);
+		if (layout == null) {
+			CharSequence text = adapter.getItemLabel(index);
+			BoringLayout.Metrics metrics = BoringLayout.isBoring(text, paint);
+			if (metrics != null) {
+				layout = BoringLayout.make(text, paint, metrics.width, Layout.Alignment.ALIGN_NORMAL,
+						1, 0, metrics, true);
+			} else {
+				int width = (int) Math.ceil(Layout.getDesiredWidth(text, paint));
+				layout = new StaticLayout(text, paint, width, Layout.Alignment.ALIGN_NORMAL, 1, 0, true);
+			}
+			if (layouts.size() >= MAX_CACHED_LAYOUTS) {
+				layouts.clear();
+			}
+			layouts.put(index, layout);
+		}
+		return layout;
+	}
+}
@@ -21,19 +21,21 @@ package kankan.wheel.widget;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.WeakHashMap;
 
-import kankan.wheel.R;
+import kankan.wheel.widget.adapters.WheelTextAdapter;
 import kankan.wheel.widget.adapters.WheelViewAdapter;
 import android.content.Context;
 import android.database.DataSetObserver;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
-import android.graphics.drawable.GradientDrawable;
-import android.graphics.drawable.GradientDrawable.Orientation;
+import android.os.Build;
 import android.util.AttributeSet;
+import android.view.Gravity;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.ViewGroup.LayoutParams;
+import android.view.ViewGroup;
 import android.view.animation.Interpolator;
 import android.widget.LinearLayout;
 
@@ -42,11 +44,7 @@ import android.widget.LinearLayout;
  * 
  * @author Yuri Kanivets
  */
-public class WheelView extends View {
-
-	/** Top and bottom shadows colors */
-	private static final int[] SHADOWS_COLORS = new int[] { 0xFF111111,
-			0x00AAAAAA, 0x00AAAAAA };
+public class WheelView extends ViewGroup {
 
 	/** Top and bottom items offset (to hide that) */
 	private static final int ITEM_OFFSET_PERCENT = 10;
@@ -57,6 +55,27 @@ public class WheelView extends View {
 	/** Default count of visible items */
 	private static final int DEF_VISIBLE_ITEMS = 5;
 
+	/** Empty range used to recycle all the items */
+	private static final ItemsRange EMPTY_RANGE = new ItemsRange();
+
+	/** Fixed item height calculated from font metrics of text adapter */
+	public static final int ITEM_HEIGHT_TEXT = -1;
+
+	/** Items views are never promoted to hardware layers */
+	public static final int LAYER_POLICY_NEVER = 0;
+
+	/** Items views are always promoted to hardware layers while scrolling */
+	public static final int LAYER_POLICY_ALWAYS = 1;
+
+	/** Items views are promoted to hardware layers while scrolling if there are not too many of them */
+	public static final int LAYER_POLICY_AUTO = 2;
+
+	/** Maximum count of items views promoted to hardware layers in auto mode */
+	private static final int AUTO_LAYERS_MAX_ITEMS = 12;
+
+	/** Minimum duration of stopping the spinning wheel */
+	private static final int SPIN_STOP_DURATION = 1000;
+
 	// Wheel Values
 	private int currentItem = 0;
 	
@@ -66,37 +85,75 @@ public class WheelView extends View {
 	// Item height
 	private int itemHeight = 0;
 
+	// Fixed item height, 0 if items are measured
+	private int fixedItemHeight = 0;
+
+	// Decorations shared by all the wheels
+	private WheelDecorations decorations;
+
 	// Center Line
 	private Drawable centerDrawable;
 
 	// Shadows drawables
-	private GradientDrawable topShadow;
-	private GradientDrawable bottomShadow;
+	private Drawable topShadow;
+	private Drawable bottomShadow;
+
+	// Size the decorations bounds are set for
+	private int decorationsWidth;
+	private int decorationsHeight;
+	private int decorationsItemHeight;
+
+	// Pre-rasterized layer with center rect and shadows
+	private boolean isDecorationsCacheEnabled = false;
+	private Bitmap decorationsLayer;
+
+	// Hardware layers of items views
+	private int layerPolicy = LAYER_POLICY_AUTO;
+	private boolean isItemsLayerPromoted = false;
+	// Views promoted by wheels, shared since pooled views move between wheels
+	private static final WeakHashMap<View, Boolean> promotedViews = new WeakHashMap<View, Boolean>();
 
 	// Scrolling
 	private WheelScroller scroller;
     private boolean isScrollingPerformed; 
     private int scrollingOffset;
 
+	// Item the wheel is scrolling to, -1 if it is not known
+	private int targetItem = -1;
+
+	// Item before spinTo() started, -1 if changing notifications are not deferred
+	private int deferredChangeItem = -1;
+
 	// Cyclic
 	boolean isCyclic = false;
 	
-	// Items layout
-	private LinearLayout itemsLayout;
-	
 	// The number of first item in layout
 	private int firstItem;
 
+	// Range of visible items, reused on every draw
+	private ItemsRange itemsRange = new ItemsRange();
+
+	// Measure spec of items width
+	private int itemsWidthSpec;
+
 	// View adapter
 	private WheelViewAdapter viewAdapter;
 	
 	// Recycle
 	private WheelRecycle recycle = new WheelRecycle(this);
 
+	// Text rendering
+	private boolean isTextRenderingEnabled = false;
+	private WheelTextRenderer textRenderer = new WheelTextRenderer();
+
+	// Snapshots of items used while scrolling
+	private WheelSnapshotCache snapshots = new WheelSnapshotCache();
+
 	// Listeners
 	private List<OnWheelChangedListener> changingListeners = new LinkedList<OnWheelChangedListener>();
 	private List<OnWheelScrollListener> scrollingListeners = new LinkedList<OnWheelScrollListener>();
     private List<OnWheelClickedListener> clickingListeners = new LinkedList<OnWheelClickedListener>();
+	private OnWheelDragLatencyListener dragLatencyListener;
 
 	/**
 	 * Constructor
@@ -128,12 +185,15 @@ public class WheelView extends View {
 	 */
 	private void initData(Context context) {
 	    scroller = new WheelScroller(getContext(), scrollingListener);
+	    setWillNotDraw(false);
 	}
 	
 	// Scrolling listener
 	WheelScroller.ScrollingListener scrollingListener = new WheelScroller.ScrollingListener() {
         public void onStarted() {
             isScrollingPerformed = true;
+            targetItem = -1;
+            promoteItemsLayers(shouldPromoteItemsLayers());
             notifyScrollingListenersAboutStart();
         }
         
@@ -151,18 +211,48 @@ public class WheelView extends View {
         }
         
         public void onFinished() {
+            if (deferredChangeItem != -1) {
+                int old = deferredChangeItem;
+                deferredChangeItem = -1;
+                if (old != currentItem) {
+                    notifyChangingListeners(old, currentItem);
+                }
+            }
             if (isScrollingPerformed) {
                 notifyScrollingListenersAboutEnd();
                 isScrollingPerformed = false;
             }
+            promoteItemsLayers(false);
             
+            targetItem = -1;
             scrollingOffset = 0;
-            invalidate();
+            invalidateItems();
         }
 
         public void onJustify() {
             if (Math.abs(scrollingOffset) > WheelScroller.MIN_DELTA_FOR_SCROLLING) {
-                scroller.scroll(scrollingOffset, 0);
+                scroller.snap(scrollingOffset);
+            }
+        }
+
+        public int onFling(int distance) {
+            int itemHeight = getItemHeight();
+            if (viewAdapter == null || viewAdapter.getItemsCount() == 0 || itemHeight == 0) {
+                return distance;
+            }
+
+            // round the final position to the nearest item
+            int target = currentItem - Math.round((float) (scrollingOffset + distance) / itemHeight);
+            if (!isCyclic) {
+                target = Math.max(0, Math.min(target, viewAdapter.getItemsCount() - 1));
+            }
+            targetItem = getAdapterIndex(target);
+            return (currentItem - target) * itemHeight - scrollingOffset;
+        }
+
+        public void onDragFrame(long inputLatency, long predictedTime) {
+            if (dragLatencyListener != null) {
+                dragLatencyListener.onDragLatency(WheelView.this, inputLatency, predictedTime);
             }
         }
     };
@@ -174,6 +264,146 @@ public class WheelView extends View {
 	public void setInterpolator(Interpolator interpolator) {
 		scroller.setInterpolator(interpolator);
 	}
+
+	/**
+	 * Gets minimum velocity that starts fling
+	 * @return the velocity in pixels per second
+	 */
+	public int getMinFlingVelocity() {
+		return scroller.getMinFlingVelocity();
+	}
+
+	/**
+	 * Sets minimum velocity that starts fling. Slower touches are justified.
+	 * @param velocity the velocity in pixels per second
+	 */
+	public void setMinFlingVelocity(int velocity) {
+		scroller.setMinFlingVelocity(velocity);
+	}
+
+	/**
+	 * Gets maximum fling velocity
+	 * @return the velocity in pixels per second
+	 */
+	public int getMaxFlingVelocity() {
+		return scroller.getMaxFlingVelocity();
+	}
+
+	/**
+	 * Sets maximum fling velocity. Faster flings are started with this velocity.
+	 * @param velocity the velocity in pixels per second
+	 */
+	public void setMaxFlingVelocity(int velocity) {
+		scroller.setMaxFlingVelocity(velocity);
+	}
+
+	/**
+	 * Gets fling momentum multiplier
+	 * @return the multiplier of maximum fling velocity
+	 */
+	public float getFlingMomentumMultiplier() {
+		return scroller.getFlingMomentumMultiplier();
+	}
+
+	/**
+	 * Sets fling momentum multiplier. A fling started while the previous fling is
+	 * moving in the same direction adds to its velocity, up to the maximum fling
+	 * velocity multiplied by this value, so large adapters are traversed with a few flings.
+	 * Only items in the visible range are bound, however far the wheel is flung.
+	 * @param multiplier the multiplier, 0 disables momentum
+	 */
+	public void setFlingMomentumMultiplier(float multiplier) {
+		scroller.setFlingMomentumMultiplier(multiplier);
+	}
+
+	/**
+	 * Gets recycle of items views, e.g. to read its statistics
+	 * @return the recycle
+	 */
+	public WheelRecycle getRecycle() {
+		return recycle;
+	}
+
+	/**
+	 * Gets view pool shared with other wheels
+	 * @return the view pool or null if items views are cached privately
+	 */
+	public WheelViewPool getViewPool() {
+		return recycle.getViewPool();
+	}
+
+	/**
+	 * Sets view pool shared with other wheels. Wheels using the same items layout
+	 * reuse views of each other, so fewer views are inflated and held in memory.
+	 * @param pool the view pool or null to cache items views privately
+	 */
+	public void setViewPool(WheelViewPool pool) {
+		recycle.setViewPool(pool);
+		invalidateWheel(true);
+	}
+
+	/**
+	 * Inflates items views on a background thread. The wheel takes every view as soon
+	 * as it is inflated, including while it is measured the first time, so it should be
+	 * called right after setting the adapter. Items needed before their views are ready
+	 * are inflated on the UI thread as usual.
+	 * Only adapters supporting asynchronous inflation are prewarmed.
+	 * @param count the count of views to be inflated
+	 */
+	public void prewarmItems(int count) {
+		recycle.prewarm(count);
+	}
+
+	/**
+	 * Gets touch prediction time
+	 * @return the prediction time in milliseconds, zero if prediction is disabled
+	 */
+	public int getTouchPrediction() {
+		return scroller.getTouchPrediction();
+	}
+
+	/**
+	 * Sets touch prediction time. While dragging, the wheel is drawn ahead of the finger
+	 * extrapolating recent touch samples, that hides part of the touch latency.
+	 * @param time the prediction time in milliseconds, zero to disable prediction
+	 */
+	public void setTouchPrediction(int time) {
+		scroller.setTouchPrediction(time);
+	}
+
+	/**
+	 * Sets listener notified about drag latency on every drag frame
+	 * @param listener the listener or null
+	 */
+	public void setDragLatencyListener(OnWheelDragLatencyListener listener) {
+		dragLatencyListener = listener;
+	}
+
+	/**
+	 * Sets group driving the wheel animation
+	 * @param group the group or null
+	 */
+	void setGroup(WheelGroup group) {
+		scroller.setGroup(group);
+	}
+
+	/**
+	 * Gets scrolling physics
+	 * @return the scrolling physics
+	 */
+	public WheelPhysics getPhysics() {
+		return scroller.getPhysics();
+	}
+
+	/**
+	 * Sets scrolling physics used for flings, snapping and programmatic scrolling.
+	 * Physics reuse their motions, so the instance must not be shared with other wheels,
+	 * including the wheels of the same group.
+	 * @param physics the scrolling physics
+	 */
+	public void setPhysics(WheelPhysics physics) {
+		scroller.setPhysics(physics);
+	}
 	
 	/**
 	 * Gets count of visible items
@@ -208,6 +438,10 @@ public class WheelView extends View {
         @Override
         public void onChanged() {
             invalidateWheel(false);
+            if (isTextAdapter()) {
+                // width is calculated from labels that may be changed
+                requestLayout();
+            }
         }
 
         @Override
@@ -225,14 +459,213 @@ public class WheelView extends View {
 	public void setViewAdapter(WheelViewAdapter viewAdapter) {
 	    if (this.viewAdapter != null) {
 	        this.viewAdapter.unregisterDataSetObserver(dataObserver);
+	        if (recycle.getViewPool() != null) {
+	            // return views of the replaced adapter to the shared pool
+	            recycle.recycleItems(this, firstItem, EMPTY_RANGE);
+	        }
 	    }
         this.viewAdapter = viewAdapter;
         if (this.viewAdapter != null) {
             this.viewAdapter.registerDataSetObserver(dataObserver);
         }
+        textRenderer.setAdapter(viewAdapter instanceof WheelTextAdapter ?
+                (WheelTextAdapter) viewAdapter : null);
         
         invalidateWheel(true);
 	}
+
+	/**
+	 * Tests if text rendering is enabled
+	 * @return true if text rendering is enabled
+	 */
+	public boolean isTextRenderingEnabled() {
+		return isTextRenderingEnabled;
+	}
+
+	/**
+	 * Enables text rendering. Labels of text adapters are drawn directly on canvas
+	 * without items views, so view customizations made by adapter are ignored.
+	 * Adapters not supporting text rendering still use items views.
+	 *
+	 * @param enabled the flag to set
+	 */
+	public void setTextRenderingEnabled(boolean enabled) {
+		isTextRenderingEnabled = enabled;
+		invalidateWheel(true);
+		requestLayout();
+	}
+
+	/**
+	 * Gets maximum size of items snapshots cache
+	 * @return the cache size in bytes
+	 */
+	public int getSnapshotCacheSize() {
+		return snapshots.getMaxSize();
+	}
+
+	/**
+	 * Sets maximum size of items snapshots cache. While scrolling, items views
+	 * are rasterized once and their snapshots are drawn instead of rebinding views.
+	 * Zero size (default) disables the cache.
+	 *
+	 * @param maxSize the cache size in bytes
+	 */
+	public void setSnapshotCacheSize(int maxSize) {
+		snapshots.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Gets fixed item height
+	 * @return the fixed item height, ITEM_HEIGHT_TEXT or 0 if items are measured
+	 */
+	public int getFixedItemHeight() {
+		return fixedItemHeight;
+	}
+
+	/**
+	 * Sets fixed item height. In this mode the wheel does not measure items views
+	 * to calculate item height, items views are measured with the exact height.
+	 * ITEM_HEIGHT_TEXT calculates the height once from the font metrics of text adapter,
+	 * 0 (default) calculates it from the measured items views.
+	 *
+	 * @param height the item height in pixels, ITEM_HEIGHT_TEXT or 0
+	 */
+	public void setFixedItemHeight(int height) {
+		fixedItemHeight = height;
+		itemHeight = 0;
+		requestLayout();
+		invalidate();
+	}
+
+	/**
+	 * Returns fixed item height in pixels
+	 * @return the fixed item height or 0 if items should be measured
+	 */
+	private int resolveFixedItemHeight() {
+		if (fixedItemHeight == ITEM_HEIGHT_TEXT) {
+			return isTextAdapter() ? textRenderer.getItemHeight() : 0;
+		}
+		return fixedItemHeight;
+	}
+
+	/**
+	 * Tests if adapter items are plain text labels
+	 * @return true if adapter supports text rendering
+	 */
+	private boolean isTextAdapter() {
+		return viewAdapter instanceof WheelTextAdapter &&
+			((WheelTextAdapter) viewAdapter).isTextRenderingSupported();
+	}
+
+	/**
+	 * Tests if decorations cache is enabled
+	 * @return true if decorations cache is enabled
+	 */
+	public boolean isDecorationsCacheEnabled() {
+		return isDecorationsCacheEnabled;
+	}
+
+	/**
+	 * Enables decorations cache. The center rect and shadows are composed once
+	 * into a bitmap layer, so every frame draws one bitmap instead of three drawables.
+	 * It reduces fill-rate cost of scrolling when hardware acceleration is not available.
+	 * Layers are shared by the wheels of the same size.
+	 *
+	 * @param enabled the flag to set
+	 */
+	public void setDecorationsCacheEnabled(boolean enabled) {
+		isDecorationsCacheEnabled = enabled;
+		decorationsLayer = null;
+		invalidate();
+	}
+
+	/**
+	 * Gets hardware layers policy
+	 * @return the layers policy
+	 */
+	public int getLayerPolicy() {
+		return layerPolicy;
+	}
+
+	/**
+	 * Sets hardware layers policy. Items views promoted to hardware layers are not
+	 * redrawn while the wheel is scrolled, only their positions are changed.
+	 * Views are promoted when scrolling is started and demoted when it is finished.
+	 * Layers are used only if the wheel is hardware accelerated.
+	 *
+	 * @param policy the LAYER_POLICY_NEVER, LAYER_POLICY_ALWAYS or LAYER_POLICY_AUTO (default)
+	 */
+	public void setLayerPolicy(int policy) {
+		layerPolicy = policy;
+	}
+
+	/**
+	 * Tests if items views should be promoted to hardware layers
+	 * @return true if items views should be promoted
+	 */
+	private boolean shouldPromoteItemsLayers() {
+		if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB || !isHardwareAccelerated()
+				|| getChildCount() == 0) {
+			return false;
+		}
+
+		switch (layerPolicy) {
+		case LAYER_POLICY_ALWAYS:
+			return true;
+		case LAYER_POLICY_AUTO:
+			return getChildCount() <= AUTO_LAYERS_MAX_ITEMS;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Promotes items views to hardware layers or demotes them
+	 * @param promote the flag indicates if views should be promoted
+	 */
+	private void promoteItemsLayers(boolean promote) {
+		if (promote != isItemsLayerPromoted) {
+			isItemsLayerPromoted = promote;
+			for (int i = 0; i < getChildCount(); i++) {
+				updateItemLayer(getChildAt(i));
+			}
+		}
+	}
+
+	/**
+	 * Sets layer type of item view according to the current promotion.
+	 * Only views without layers are promoted and only the views promoted
+	 * by the wheel are demoted, so layers set by adapter are kept.
+	 * @param view the item view
+	 */
+	private void updateItemLayer(View view) {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+			if (isItemsLayerPromoted) {
+				if (view.getLayerType() == LAYER_TYPE_NONE) {
+					view.setLayerType(LAYER_TYPE_HARDWARE, null);
+					promotedViews.put(view, Boolean.TRUE);
+				}
+			} else if (promotedViews.remove(view) != null && view.getLayerType() == LAYER_TYPE_HARDWARE) {
+				view.setLayerType(LAYER_TYPE_NONE, null);
+			}
+		}
+	}
+
+	/**
+	 * Tests if items are drawn as text labels at the moment
+	 * @return true if text rendering is enabled and supported by adapter
+	 */
+	private boolean isTextRendering() {
+		return isTextRenderingEnabled && isTextAdapter();
+	}
+
+	/**
+	 * Tests if items sizes are calculated from text labels without binding items views
+	 * @return true if items are drawn as text or have fixed height
+	 */
+	private boolean isTextMeasuring() {
+		return isTextRendering() || fixedItemHeight != 0 && isTextAdapter();
+	}
 	
 	/**
 	 * Adds wheel changing listener
@@ -329,8 +762,20 @@ public class WheelView extends View {
 		return currentItem;
 	}
 
+	/**
+	 * Gets the item the wheel is scrolling to.
+	 * The target is known for flings and programmatic scrolling.
+	 * 
+	 * @return the target item or the current item if the target is not known
+	 */
+	public int getTargetItem() {
+		return targetItem != -1 ? targetItem : currentItem;
+	}
+
 	/**
 	 * Sets the current item. Does nothing when index is wrong.
+	 * If the wheel is scrolling, the animation is redirected to the new item
+	 * keeping its velocity, so the value may be updated frequently.
 	 * 
 	 * @param index the item index
 	 * @param animated the animation flag
@@ -351,29 +796,51 @@ public class WheelView extends View {
 				return; // throw?
 			}
 		}
+		if (animated && isScrollingPerformed) {
+			// redirect the running animation keeping its velocity
+			if (index != getTargetItem()) {
+				int distance = getItemsToScroll(index) * getItemHeight() + scrollingOffset;
+				scroller.retarget(distance);
+				targetItem = index;
+			}
+			return;
+		}
 		if (index != currentItem) {
 			if (animated) {
-			    int itemsToScroll = index - currentItem;
-			    if (isCyclic) {
-			        int scroll = itemCount + Math.min(index, currentItem) - Math.max(index, currentItem);
-			        if (scroll < Math.abs(itemsToScroll)) {
-			            itemsToScroll = itemsToScroll < 0 ? scroll : -scroll;
-			        }
-			    }
-				scroll(itemsToScroll, 0);
+				scroll(getItemsToScroll(index), 0);
 			} else {
 				scrollingOffset = 0;
 			
 				int old = currentItem;
 				currentItem = index;
 			
-				notifyChangingListeners(old, currentItem);
+				if (deferredChangeItem == -1) {
+					notifyChangingListeners(old, currentItem);
+				}
 			
-				invalidate();
+				invalidateItems();
 			}
 		}
 	}
 
+	/**
+	 * Calculates count of items to scroll from the current item to the index.
+	 * Cyclic wheels are scrolled the shortest way.
+	 * 
+	 * @param index the item index
+	 * @return the items count to scroll
+	 */
+	private int getItemsToScroll(int index) {
+		int itemsToScroll = index - currentItem;
+		if (isCyclic) {
+			int scroll = viewAdapter.getItemsCount() + Math.min(index, currentItem) - Math.max(index, currentItem);
+			if (scroll < Math.abs(itemsToScroll)) {
+				itemsToScroll = itemsToScroll < 0 ? scroll : -scroll;
+			}
+		}
+		return itemsToScroll;
+	}
+
 	/**
 	 * Sets the current item w/o animation. Does nothing when index is wrong.
 	 * 
@@ -405,49 +872,83 @@ public class WheelView extends View {
 	 * @param clearCaches if true then cached views will be clear
 	 */
     public void invalidateWheel(boolean clearCaches) {
+        textRenderer.clear();
+        snapshots.clear();
         if (clearCaches) {
-            recycle.clearAll();
-            if (itemsLayout != null) {
-                itemsLayout.removeAllViews();
+            if (recycle.getViewPool() != null) {
+                // views are kept in the shared pool for other wheels
+                recycle.recycleItems(this, firstItem, EMPTY_RANGE);
             }
+            recycle.clearAll();
+            removeAllViewsInLayout();
             scrollingOffset = 0;
-        } else if (itemsLayout != null) {
+        } else {
             // cache all items
-	        recycle.recycleItems(itemsLayout, firstItem, new ItemsRange());         
+	        recycle.recycleItems(this, firstItem, EMPTY_RANGE);         
+	        recycle.unbindAll();
         }
         
         invalidate();
 	}
 
 	/**
-	 * Initializes resources
+	 * Invalidates the items strip only. The wheel edges out of the strip
+	 * are not changed while items are scrolled.
+	 */
+	private void invalidateItems() {
+		invalidate(PADDING, 0, getWidth() - PADDING, getHeight());
+	}
+
+	/**
+	 * Initializes resources. Drawables share their states with the other wheels.
 	 */
 	private void initResourcesIfNecessary() {
-		if (centerDrawable == null) {
-			centerDrawable = getContext().getResources().getDrawable(R.drawable.wheel_val);
+		if (decorations == null) {
+			decorations = WheelDecorations.get(getContext());
+			centerDrawable = decorations.newCenterDrawable();
+			topShadow = decorations.newTopShadow();
+			bottomShadow = decorations.newBottomShadow();
+			setBackgroundDrawable(decorations.newBackground());
 		}
+	}
 
-		if (topShadow == null) {
-			topShadow = new GradientDrawable(Orientation.TOP_BOTTOM, SHADOWS_COLORS);
-		}
+	/**
+	 * Updates decorations bounds and layer if the wheel size or item height is changed
+	 */
+	private void updateDecorations() {
+		initResourcesIfNecessary();
 
-		if (bottomShadow == null) {
-			bottomShadow = new GradientDrawable(Orientation.BOTTOM_TOP, SHADOWS_COLORS);
+		int width = getWidth();
+		int height = getHeight();
+		int itemHeight = getItemHeight();
+		if (width != decorationsWidth || height != decorationsHeight || itemHeight != decorationsItemHeight) {
+			decorationsWidth = width;
+			decorationsHeight = height;
+			decorationsItemHeight = itemHeight;
+			WheelDecorations.setBounds(centerDrawable, topShadow, bottomShadow, width, height, itemHeight);
+			decorationsLayer = null;
 		}
 
-		setBackgroundResource(R.drawable.wheel_bg);
+		if (isDecorationsCacheEnabled && decorationsLayer == null && width > 0 && height > 0) {
+			decorationsLayer = decorations.getLayer(width, height, itemHeight);
+		}
 	}
 	
 	/**
 	 * Calculates desired height for layout
 	 * 
-	 * @param layout
-	 *            the source layout
 	 * @return the desired layout height
 	 */
-	private int getDesiredHeight(LinearLayout layout) {
-		if (layout != null && layout.getChildAt(0) != null) {
-			itemHeight = layout.getChildAt(0).getMeasuredHeight();
+	private int getDesiredHeight() {
+		int fixedHeight = resolveFixedItemHeight();
+		if (fixedHeight > 0) {
+			itemHeight = fixedHeight;
+		} else if (isTextRendering()) {
+			itemHeight = textRenderer.getItemHeight();
+		} else if (getChildAt(0) != null) {
+			View child = getChildAt(0);
+			LinearLayout.LayoutParams params = (LinearLayout.LayoutParams) child.getLayoutParams();
+			itemHeight = child.getMeasuredHeight() + params.topMargin + params.bottomMargin;
 		}
 
 		int desired = itemHeight * visibleItems - itemHeight * ITEM_OFFSET_PERCENT / 50;
@@ -460,12 +961,12 @@ public class WheelView extends View {
 	 * @return the item height
 	 */
 	private int getItemHeight() {
-		if (itemHeight != 0) {
-			return itemHeight;
+		int fixedHeight = resolveFixedItemHeight();
+		if (fixedHeight > 0) {
+			return fixedHeight;
 		}
-		
-		if (itemsLayout != null && itemsLayout.getChildAt(0) != null) {
-			itemHeight = itemsLayout.getChildAt(0).getHeight();
+
+		if (itemHeight != 0) {
 			return itemHeight;
 		}
 		
@@ -481,11 +982,18 @@ public class WheelView extends View {
 	private int calculateLayoutWidth(int widthSize, int mode) {
 		initResourcesIfNecessary();
 
-		// TODO: make it static
-		itemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
-	    itemsLayout.measure(MeasureSpec.makeMeasureSpec(widthSize, MeasureSpec.UNSPECIFIED), 
-	                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
-		int width = itemsLayout.getMeasuredWidth();
+		int width = 0;
+		if (isTextMeasuring()) {
+			width = getTextItemsWidth();
+		} else if (mode != MeasureSpec.EXACTLY) {
+			int labelWidth = isTextAdapter() ? ((WheelTextAdapter) viewAdapter).getMaximumLabelWidth() : -1;
+			if (labelWidth >= 0) {
+				// the widest label may be out of the visible range
+				width = labelWidth + getItemsPadding();
+			} else {
+				width = measureItems(MeasureSpec.makeMeasureSpec(widthSize, MeasureSpec.UNSPECIFIED));
+			}
+		}
 
 		if (mode == MeasureSpec.EXACTLY) {
 			width = widthSize;
@@ -500,9 +1008,80 @@ public class WheelView extends View {
 			}
 		}
 		
-        itemsLayout.measure(MeasureSpec.makeMeasureSpec(width - 2 * PADDING, MeasureSpec.EXACTLY), 
-                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+		itemsWidthSpec = MeasureSpec.makeMeasureSpec(width - 2 * PADDING, MeasureSpec.EXACTLY);
+		if (!isTextRendering()) {
+			measureItems(itemsWidthSpec);
+		}
+
+		return width;
+	}
+
+	/**
+	 * Measures all items views
+	 * @param widthSpec the items width measure spec
+	 * @return the maximum measured width of items
+	 */
+	private int measureItems(int widthSpec) {
+		int width = 0;
+		for (int i = 0; i < getChildCount(); i++) {
+			View child = getChildAt(i);
+			measureItem(child, widthSpec);
+			LinearLayout.LayoutParams params = (LinearLayout.LayoutParams) child.getLayoutParams();
+			width = Math.max(width, child.getMeasuredWidth() + params.leftMargin + params.rightMargin);
+		}
+		return width;
+	}
+
+	/**
+	 * Calculates horizontal padding and margins of items views
+	 * @return the maximum padding of items
+	 */
+	private int getItemsPadding() {
+		int padding = 0;
+		for (int i = 0; i < getChildCount(); i++) {
+			View child = getChildAt(i);
+			LinearLayout.LayoutParams params = (LinearLayout.LayoutParams) child.getLayoutParams();
+			padding = Math.max(padding, child.getPaddingLeft() + child.getPaddingRight()
+					+ params.leftMargin + params.rightMargin);
+		}
+		return padding;
+	}
+
+	/**
+	 * Measures item view. All items share the same width spec, height is not limited.
+	 * Margins of item are excluded from the available space.
+	 * @param child the item view
+	 * @param widthSpec the items width measure spec
+	 */
+	private void measureItem(View child, int widthSpec) {
+		LinearLayout.LayoutParams params = (LinearLayout.LayoutParams) child.getLayoutParams();
+		int fixedHeight = resolveFixedItemHeight();
+		int heightSpec = fixedHeight > 0
+				? MeasureSpec.makeMeasureSpec(Math.max(0, fixedHeight - params.topMargin - params.bottomMargin),
+						MeasureSpec.EXACTLY)
+				: MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+		child.measure(getChildMeasureSpec(widthSpec, params.leftMargin + params.rightMargin, params.width),
+				heightSpec);
+	}
+
+	/**
+	 * Calculates width of text labels. Uses the maximum label width of adapter,
+	 * measures labels of items built for measuring if it is not calculated yet
+	 * @return the maximum label width
+	 */
+	private int getTextItemsWidth() {
+		int width = ((WheelTextAdapter) viewAdapter).getMaximumLabelWidth();
+		if (width >= 0) {
+			return width;
+		}
 
+		width = 0;
+		int addItems = visibleItems / 2;
+		for (int i = currentItem - addItems; i <= currentItem + addItems; i++) {
+			if (isValidItemIndex(i)) {
+				width = Math.max(width, textRenderer.getItemWidth(getAdapterIndex(i)));
+			}
+		}
 		return width;
 	}
 
@@ -513,7 +1092,11 @@ public class WheelView extends View {
 		int widthSize = MeasureSpec.getSize(widthMeasureSpec);
 		int heightSize = MeasureSpec.getSize(heightMeasureSpec);
 
-		buildViewForMeasuring();
+		// items views are not needed if both width and height are known
+		boolean isFixedWidth = isTextMeasuring() || widthMode == MeasureSpec.EXACTLY;
+		if (!isTextRendering() && (resolveFixedItemHeight() == 0 || !isFixedWidth)) {
+			buildViewForMeasuring();
+		}
 		
 		int width = calculateLayoutWidth(widthSize, widthMode);
 
@@ -521,7 +1104,7 @@ public class WheelView extends View {
 		if (heightMode == MeasureSpec.EXACTLY) {
 			height = heightSize;
 		} else {
-			height = getDesiredHeight(itemsLayout);
+			height = getDesiredHeight();
 
 			if (heightMode == MeasureSpec.AT_MOST) {
 				height = Math.min(height, heightSize);
@@ -533,32 +1116,117 @@ public class WheelView extends View {
 	
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
-    	layout(r - l, b - t);
+    	for (int i = 0; i < getChildCount(); i++) {
+    		layoutItem(getChildAt(i), firstItem + i);
+    	}
     }
 
     /**
-     * Sets layouts width and height
-     * @param width the layout width
-     * @param height the layout height
+     * Lays out item view. Items are placed one under another, so the position
+     * is calculated from the item index, the current item is placed at the center.
+     * Items are aligned horizontally according to their layout gravity.
+     * @param child the item view
+     * @param index the item index
      */
-    private void layout(int width, int height) {
-		int itemsWidth = width - 2 * PADDING;
-		
-		itemsLayout.layout(0, 0, itemsWidth, height);
+    private void layoutItem(View child, int index) {
+    	LinearLayout.LayoutParams params = (LinearLayout.LayoutParams) child.getLayoutParams();
+    	int width = child.getMeasuredWidth();
+    	int left;
+    	switch (params.gravity & Gravity.HORIZONTAL_GRAVITY_MASK) {
+    	case Gravity.CENTER_HORIZONTAL:
+    		left = PADDING + (MeasureSpec.getSize(itemsWidthSpec) - width) / 2
+    				+ params.leftMargin - params.rightMargin;
+    		break;
+    	case Gravity.RIGHT:
+    		left = PADDING + MeasureSpec.getSize(itemsWidthSpec) - width - params.rightMargin;
+    		break;
+    	default:
+    		left = PADDING + params.leftMargin;
+    	}
+    	int top = getItemTop(index) + params.topMargin;
+    	child.layout(left, top, left + width, top + child.getMeasuredHeight());
+    }
+
+    /**
+     * Returns top of item view regardless of scrolling offset
+     * @param index the item index
+     * @return the item top
+     */
+    private int getItemTop(int index) {
+    	return (index - currentItem) * getItemHeight() + (getHeight() - getItemHeight()) / 2;
+    }
+
+    /**
+     * Positions items views. Measures and lays out new items, moves the existing ones
+     * if the current item is changed. Added items always request layout, see addViewItem().
+     */
+    private void positionItems() {
+    	for (int i = 0; i < getChildCount(); i++) {
+    		View child = getChildAt(i);
+    		if (child.isLayoutRequested()) {
+    			measureItem(child, itemsWidthSpec);
+    			layoutItem(child, firstItem + i);
+    		} else {
+    			LinearLayout.LayoutParams params = (LinearLayout.LayoutParams) child.getLayoutParams();
+    			int offset = getItemTop(firstItem + i) + params.topMargin - child.getTop();
+    			if (offset != 0) {
+    				child.offsetTopAndBottom(offset);
+    			}
+    		}
+    	}
     }
 
 	@Override
-	protected void onDraw(Canvas canvas) {
-		super.onDraw(canvas);
-		
-		if (viewAdapter != null && viewAdapter.getItemsCount() > 0) {
-	        updateView();
+	public boolean onInterceptTouchEvent(MotionEvent ev) {
+		// items views never handle touch events
+		return true;
+	}
+
+	@Override
+	protected LayoutParams generateDefaultLayoutParams() {
+		return new LinearLayout.LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+	}
+
+	@Override
+	public LayoutParams generateLayoutParams(AttributeSet attrs) {
+		// items support the layout gravity and margins like in vertical linear layout
+		return new LinearLayout.LayoutParams(getContext(), attrs);
+	}
+
+	@Override
+	protected LayoutParams generateLayoutParams(LayoutParams params) {
+		if (params instanceof MarginLayoutParams) {
+			return new LinearLayout.LayoutParams((MarginLayoutParams) params);
+		}
+		return new LinearLayout.LayoutParams(params);
+	}
 
-	        drawItems(canvas);
-	        drawCenterRect(canvas);
+	@Override
+	protected boolean checkLayoutParams(LayoutParams params) {
+		return params instanceof LinearLayout.LayoutParams;
+	}
+
+	@Override
+	protected void dispatchDraw(Canvas canvas) {
+		boolean hasItems = viewAdapter != null && viewAdapter.getItemsCount() > 0;
+		if (hasItems) {
+			if (isTextRendering()) {
+				drawTextItems(canvas);
+			} else if (!drawSnapshots(canvas)) {
+		        updateView();
+		        drawItems(canvas);
+			}
 		}
 		
-        drawShadows(canvas);
+		updateDecorations();
+		if (hasItems && decorationsLayer != null) {
+			canvas.drawBitmap(decorationsLayer, 0, 0, null);
+		} else {
+			if (hasItems) {
+				drawCenterRect(canvas);
+			}
+	        drawShadows(canvas);
+		}
 	}
 
 	/**
@@ -566,11 +1234,7 @@ public class WheelView extends View {
 	 * @param canvas the canvas for drawing
 	 */
 	private void drawShadows(Canvas canvas) {
-		int height = (int)(1.5 * getItemHeight());
-		topShadow.setBounds(0, 0, getWidth(), height);
 		topShadow.draw(canvas);
-
-		bottomShadow.setBounds(0, getHeight() - height, getWidth(), getHeight());
 		bottomShadow.draw(canvas);
 	}
 
@@ -580,13 +1244,116 @@ public class WheelView extends View {
 	 */
 	private void drawItems(Canvas canvas) {
 		canvas.save();
+		canvas.translate(0, scrollingOffset);
 		
-		int top = (currentItem - firstItem) * getItemHeight() + (getItemHeight() - getHeight()) / 2;
-		canvas.translate(PADDING, - top + scrollingOffset);
-		
-		itemsLayout.draw(canvas);
+		super.dispatchDraw(canvas);
 
 		canvas.restore();
+
+		if (isScrollingPerformed && snapshots.isEnabled()) {
+			cacheSnapshots();
+		}
+	}
+
+	/**
+	 * Draws snapshots of items while scrolling
+	 * @param canvas the canvas for drawing
+	 * @return true if all the visible items are drawn, false if some snapshots are absent
+	 */
+	private boolean drawSnapshots(Canvas canvas) {
+		if (!isScrollingPerformed || !snapshots.isEnabled()) {
+			return false;
+		}
+
+		ItemsRange range = getItemsRange();
+		if (range == null) {
+			return false;
+		}
+		for (int i = range.getFirst(); i <= range.getLast(); i++) {
+			if (snapshots.get(viewAdapter, getSnapshotKey(i)) == null) {
+				return false;
+			}
+		}
+
+		canvas.save();
+
+		int itemHeight = getItemHeight();
+		canvas.translate(0, getItemTop(range.getFirst()) + scrollingOffset);
+
+		for (int i = range.getFirst(); i <= range.getLast(); i++) {
+			snapshots.get(viewAdapter, getSnapshotKey(i)).draw(canvas);
+			canvas.translate(0, itemHeight);
+		}
+
+		canvas.restore();
+		return true;
+	}
+
+	/**
+	 * Puts snapshots of visible items that are not cached yet
+	 */
+	private void cacheSnapshots() {
+		ItemsRange range = getItemsRange();
+		if (range == null) {
+			return;
+		}
+
+		int childCount = getChildCount();
+		for (int i = range.getFirst(); i <= range.getLast(); i++) {
+			int key = getSnapshotKey(i);
+			if (snapshots.get(viewAdapter, key) != null) {
+				continue;
+			}
+			if (i >= firstItem && i < firstItem + childCount) {
+				snapshots.put(viewAdapter, key, getChildAt(i - firstItem));
+			} else if (!isValidItemIndex(i)) {
+				// there is no view for empty item
+				snapshots.put(viewAdapter, key, null);
+			}
+		}
+	}
+
+	/**
+	 * Returns snapshot cache key for item
+	 * @param index the item index
+	 * @return the adapter index or EMPTY_ITEM for empty items
+	 */
+	private int getSnapshotKey(int index) {
+		return isValidItemIndex(index) ? getAdapterIndex(index) : WheelSnapshotCache.EMPTY_ITEM;
+	}
+
+	/**
+	 * Draws items labels directly on canvas
+	 * @param canvas the canvas for drawing
+	 */
+	private void drawTextItems(Canvas canvas) {
+		ItemsRange range = getItemsRange();
+		if (range == null) {
+			return;
+		}
+
+		canvas.save();
+
+		int itemHeight = getItemHeight();
+		int textTop = (itemHeight - textRenderer.getItemHeight()) / 2;
+		canvas.translate(PADDING, getItemTop(range.getFirst()) + textTop + scrollingOffset);
+
+		int width = getWidth() - 2 * PADDING;
+		for (int i = range.getFirst(); i <= range.getLast(); i++) {
+			if (isValidItemIndex(i)) {
+				textRenderer.drawItem(canvas, getAdapterIndex(i), width);
+			}
+			canvas.translate(0, itemHeight);
+		}
+
+		canvas.restore();
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+		snapshots.clear();
+		decorationsLayer = null;
 	}
 
 	/**
@@ -594,9 +1361,6 @@ public class WheelView extends View {
 	 * @param canvas the canvas for drawing
 	 */
 	private void drawCenterRect(Canvas canvas) {
-		int center = getHeight() / 2;
-		int offset = (int) (getItemHeight() / 2 * 1.2);
-		centerDrawable.setBounds(0, center - offset, getWidth(), center + offset);
 		centerDrawable.draw(canvas);
 	}
 
@@ -658,10 +1422,7 @@ public class WheelView extends View {
 		        count--;
 		    }
 			// fix position by rotating
-			while (pos < 0) {
-				pos += itemCount;
-			}
-			pos %= itemCount;
+			pos = getAdapterIndex(pos);
 		} else {
 			// 
 			if (pos < 0) {
@@ -683,7 +1444,7 @@ public class WheelView extends View {
 		if (pos != currentItem) {
 			setCurrentItem(pos, false);
 		} else {
-			invalidate();
+			invalidateItems();
 		}
 		
 		// update offset
@@ -699,26 +1460,103 @@ public class WheelView extends View {
 	 * @param time scrolling duration
 	 */
 	public void scroll(int itemsToScroll, int time) {
-		int distance = itemsToScroll * getItemHeight() - scrollingOffset;
+		int distance = itemsToScroll * getItemHeight() + scrollingOffset;
         scroller.scroll(distance, time);
+
+        int target = currentItem + itemsToScroll;
+        int itemCount = viewAdapter != null ? viewAdapter.getItemsCount() : 0;
+        if (itemCount > 0 && (isCyclic || target >= 0 && target < itemCount)) {
+        	targetItem = getAdapterIndex(target);
+        }
 	}
 	
 	/**
-	 * Calculates range for wheel items
+	 * Spins cyclic wheel continuously until it is stopped by stopAt(), spinTo(),
+	 * animated setCurrentItem() or touch. Setting the current item without animation
+	 * keeps the wheel spinning. Does nothing if the wheel is not cyclic.
+	 * 
+	 * @param itemsPerSecond the spinning speed, positive to spin to the next items
+	 */
+	public void spin(float itemsPerSecond) {
+		if (!isCyclic || viewAdapter == null || viewAdapter.getItemsCount() == 0) {
+			return;
+		}
+		scroller.spin(itemsPerSecond * getItemHeight());
+	}
+
+	/**
+	 * Stops spinning wheel at the item. The wheel decelerates within a second
+	 * plus the time it takes to spin one revolution.
+	 * Scrolls to the item if the wheel is not spinning.
+	 * 
+	 * @param index the item index
+	 */
+	public void stopAt(int index) {
+		if (!scroller.isSpinning()) {
+			setCurrentItem(index, true);
+			return;
+		}
+
+		int itemHeight = getItemHeight();
+		int itemCount = viewAdapter.getItemsCount();
+		int direction = scroller.getSpinVelocity() > 0 ? 1 : -1;
+		float minDistance = Math.abs(scroller.getSpinVelocity()) * SPIN_STOP_DURATION / 2000.0f;
+
+		// items to the target in the spinning direction, at least the minimum distance
+		int minItems = (int) Math.ceil((minDistance - direction * scrollingOffset) / itemHeight);
+		int items = getAdapterIndex(direction * (index - currentItem));
+		if (items < minItems) {
+			items += (minItems - items + itemCount - 1) / itemCount * itemCount;
+		}
+
+		scroller.stopSpinning(direction * items * itemHeight + scrollingOffset);
+		targetItem = getAdapterIndex(index);
+	}
+
+	/**
+	 * Spins cyclic wheel to land exactly on the item. The trajectory is calculated
+	 * up front, so there is no correction at the end. Changing listeners are notified
+	 * once when the wheel stops. Scrolls to the item if the wheel is not cyclic.
+	 * 
+	 * @param index the item index
+	 * @param minRevolutions the minimum count of full revolutions, negative to spin to the previous items
+	 * @param duration the spinning duration in milliseconds
+	 */
+	public void spinTo(int index, int minRevolutions, int duration) {
+		if (!isCyclic || viewAdapter == null || viewAdapter.getItemsCount() == 0) {
+			setCurrentItem(index, true);
+			return;
+		}
+
+		int itemCount = viewAdapter.getItemsCount();
+		int itemsToScroll = minRevolutions * itemCount;
+		if (minRevolutions >= 0) {
+			itemsToScroll += getAdapterIndex(index - currentItem);
+		} else {
+			itemsToScroll -= getAdapterIndex(currentItem - index);
+		}
+
+		if (deferredChangeItem == -1) {
+			deferredChangeItem = currentItem;
+		}
+		scroll(itemsToScroll, duration);
+	}
+
+	/**
+	 * Calculates range for wheel items. The returned range is reused,
+	 * so it is valid until the next call only.
 	 * @return the items range
 	 */
 	private ItemsRange getItemsRange() {
-        if (getItemHeight() == 0) {
+		int itemHeight = getItemHeight();
+        if (itemHeight == 0) {
             return null;
         }
         
-		int first = currentItem;
-		int count = 1;
-		
-		while (count * getItemHeight() < getHeight()) {
-			first--;
-			count += 2; // top + bottom items
-		}
+		// count of items above and below the current one to fill the height
+		int sideItems = (getHeight() + itemHeight - 1) / (2 * itemHeight);
+		int first = currentItem - sideItems;
+		int count = 2 * sideItems + 1;
 		
 		if (scrollingOffset != 0) {
 			if (scrollingOffset > 0) {
@@ -727,33 +1565,22 @@ public class WheelView extends View {
 			count++;
 			
 			// process empty items above the first or below the second
-			int emptyItems = scrollingOffset / getItemHeight();
+			int emptyItems = scrollingOffset / itemHeight;
 			first -= emptyItems;
-			count += Math.asin(emptyItems);
+			count += Math.abs(emptyItems);
 		}
-		return new ItemsRange(first, count);
+		itemsRange.set(first, count);
+		return itemsRange;
 	}
 	
 	/**
 	 * Rebuilds wheel items if necessary. Caches all unused items.
-	 * 
-	 * @return true if items are rebuilt
+	 * Only items added at the edges are bound, the rest are kept as is.
 	 */
-	private boolean rebuildItems() {
-		boolean updated = false;
+	private void rebuildItems() {
 		ItemsRange range = getItemsRange();
-		if (itemsLayout != null) {
-			int first = recycle.recycleItems(itemsLayout, firstItem, range);
-			updated = firstItem != first;
-			firstItem = first;
-		} else {
-			createItemsLayout();
-			updated = true;
-		}
-		
-		if (!updated) {
-			updated = firstItem != range.getFirst() || itemsLayout.getChildCount() != range.getCount();
-		}
+		recycle.ensureCapacity(range.getCount());
+		firstItem = recycle.recycleItems(this, firstItem, range);
 		
 		if (firstItem > range.getFirst() && firstItem <= range.getLast()) {
 			for (int i = firstItem - 1; i >= range.getFirst(); i--) {
@@ -767,34 +1594,20 @@ public class WheelView extends View {
 		}
 		
 		int first = firstItem;
-		for (int i = itemsLayout.getChildCount(); i < range.getCount(); i++) {
-			if (!addViewItem(firstItem + i, false) && itemsLayout.getChildCount() == 0) {
+		for (int i = getChildCount(); i < range.getCount(); i++) {
+			if (!addViewItem(firstItem + i, false) && getChildCount() == 0) {
 			    first++;
 			}
 		}
 		firstItem = first;
-		
-		return updated;
 	}
 	
 	/**
-	 * Updates view. Rebuilds items and label if necessary, recalculate items sizes.
+	 * Updates view. Rebuilds items if necessary, positions new and moved items.
 	 */
 	private void updateView() {
-		if (rebuildItems()) {
-			calculateLayoutWidth(getWidth(), MeasureSpec.EXACTLY);
-			layout(getWidth(), getHeight());
-		}
-	}
-
-	/**
-	 * Creates item layouts if necessary
-	 */
-	private void createItemsLayout() {
-		if (itemsLayout == null) {
-			itemsLayout = new LinearLayout(getContext());
-			itemsLayout.setOrientation(LinearLayout.VERTICAL);
-		}
+		rebuildItems();
+		positionItems();
 	}
 
 	/**
@@ -802,14 +1615,11 @@ public class WheelView extends View {
 	 */
 	private void buildViewForMeasuring() {
 		// clear all items
-		if (itemsLayout != null) {
-			recycle.recycleItems(itemsLayout, firstItem, new ItemsRange());			
-		} else {
-			createItemsLayout();
-		}
+		recycle.recycleItems(this, firstItem, EMPTY_RANGE);			
 		
 		// add views
 		int addItems = visibleItems / 2;
+		recycle.ensureCapacity(addItems * 2 + 1);
 		for (int i = currentItem + addItems; i >= currentItem - addItems; i--) {
 			if (addViewItem(i, true)) {
 			    firstItem = i;
@@ -818,7 +1628,10 @@ public class WheelView extends View {
 	}
 
 	/**
-	 * Adds view for item to items layout
+	 * Adds view for item to the wheel. The view is not measured and laid out here,
+	 * it is done for the added view only when the wheel is measured or positions items.
+	 * Layout is forced since rebinding a cached view does not always request it, and
+	 * the view may keep the size and position it had in another wheel.
 	 * @param index the item index
 	 * @param first the flag indicates if view should be first
 	 * @return true if corresponding item exists and is added
@@ -826,11 +1639,13 @@ public class WheelView extends View {
 	private boolean addViewItem(int index, boolean first) {
 		View view = getItemView(index);
 		if (view != null) {
-			if (first) {
-				itemsLayout.addView(view, 0);
-			} else {
-				itemsLayout.addView(view);
+			LayoutParams params = view.getLayoutParams();
+			if (params == null) {
+				params = generateDefaultLayoutParams();
 			}
+			view.forceLayout();
+			addViewInLayout(view, first ? 0 : -1, params, true);
+			updateItemLayer(view);
 			
 			return true;
 		}
@@ -848,6 +1663,17 @@ public class WheelView extends View {
 	        (isCyclic || index >= 0 && index < viewAdapter.getItemsCount());
 	}
 	
+	/**
+	 * Converts wheel item index to adapter index. Rotates index for cyclic wheel
+	 * @param index the valid item index
+	 * @return the adapter index
+	 */
+	private int getAdapterIndex(int index) {
+		int count = viewAdapter.getItemsCount();
+		index %= count;
+		return index < 0 ? index + count : index;
+	}
+	
 	/**
 	 * Returns view for specified item
 	 * @param index the item index
@@ -859,7 +1685,7 @@ public class WheelView extends View {
 		}
 		int count = viewAdapter.getItemsCount();
 		if (!isValidItemIndex(index)) {
-			return viewAdapter.getEmptyItem(recycle.getEmptyItem(), itemsLayout);
+			return viewAdapter.getEmptyItem(recycle.getEmptyItem(), this);
 		} else {
 			while (index < 0) {
 				index = count + index;
@@ -867,7 +1693,11 @@ public class WheelView extends View {
 		}
 		
 		index %= count;
-		return viewAdapter.getItem(index, recycle.getItem(), itemsLayout);
+		View view = recycle.getBoundItem(index);
+		if (view != null) {
+			return view;
+		}
+		return viewAdapter.getItem(index, recycle.getItem(index), this);
 	}
 	
 	/**
@@ -0,0 +1,179 @@
+/*
+ *  Android Wheel Control.
+ *  https://code.google.com/p/android-wheel/
+ *
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package kankan.wheel.widget;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Pool of items views shared by several wheels, e.g. by the wheels of a date picker.
+ * Views are tagged by layout resource and view type of adapter, so wheels
+ * using the same item layout reuse views of each other. The total count of
+ * pooled views is limited, the views exceeding the limit are dropped.
+ * The pool should be used from the UI thread only.
+ */
+public class WheelViewPool {
+	/** Default maximum count of pooled views */
+	public static final int DEFAULT_MAX_SIZE = 32;
+
+	/** Initial capacity of views stacks */
+	private static final int STACK_CAPACITY = 8;
+
+	/**
+	 * Views stack key
+	 */
+	private static class Key {
+		// Layout tag
+		final Object layout;
+		// View type
+		final int type;
+
+		/**
+		 * Constructor
+		 * @param layout the layout tag
+		 * @param type the view type
+		 */
+		Key(Object layout, int type) {
+			this.layout = layout;
+			this.type = type;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			return type == key.type && layout.equals(key.layout);
+		}
+
+		@Override
+		public int hashCode() {
+			return layout.hashCode() * 31 + type;
+		}
+	}
+
+	// Views stacks by layout and view type
+	private HashMap<Key, WheelRecycle.ViewStack> stacks = new HashMap<Key, WheelRecycle.ViewStack>();
+
+	// Maximum count of pooled views
+	private int maxSize;
+
+	// Count of pooled views
+	private int size;
+
+	/**
+	 * Constructor
+	 */
+	public WheelViewPool() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 * @param maxSize the maximum count of pooled views
+	 */
+	public WheelViewPool(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Max size must not be negative");
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Gets maximum count of pooled views
+	 * @return the maximum count
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Sets maximum count of pooled views. The oldest views are dropped
+	 * if the pool holds more views.
+	 * @param maxSize the maximum count
+	 */
+	public void setMaxSize(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Max size must not be negative");
+		}
+		this.maxSize = maxSize;
+		Iterator<WheelRecycle.ViewStack> iterator = stacks.values().iterator();
+		while (size > maxSize && iterator.hasNext()) {
+			WheelRecycle.ViewStack stack = iterator.next();
+			while (size > maxSize && stack.size > 0) {
+				stack.remove(0);
+			}
+		}
+	}
+
+	/**
+	 * Gets count of pooled views
+	 * @return the views count
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Removes all views from pool
+	 */
+	public void clear() {
+		for (WheelRecycle.ViewStack stack : stacks.values()) {
+			stack.clear();
+		}
+	}
+
+	/**
+	 * Gets stack of views inflated from the layout. Creates the stack if necessary.
+	 * @param layout the layout tag
+	 * @param type the view type
+	 * @return the views stack
+	 */
+	WheelRecycle.ViewStack getStack(Object layout, int type) {
+		Key key = new Key(layout, type);
+		WheelRecycle.ViewStack stack = stacks.get(key);
+		if (stack == null) {
+			stack = new WheelRecycle.ViewStack(STACK_CAPACITY, this);
+			stacks.put(key, stack);
+		}
+		return stack;
+	}
+
+	/**
+	 * Reserves place for a view
+	 * @return true if the view may be pooled, false if the pool is full
+	 */
+	boolean reserve() {
+		if (size >= maxSize) {
+			return false;
+		}
+		size++;
+		return true;
+	}
+
+	/**
+	 * Releases place of a view taken from pool
+	 */
+	void release() {
+		size--;
+	}
+}
@@ -26,7 +26,7 @@ import android.view.ViewGroup;
 /**
  * Abstract Wheel adapter.
  */
-public abstract class AbstractWheelAdapter implements WheelViewAdapter {
+public abstract class AbstractWheelAdapter implements WheelViewTypesAdapter {
     // Observers
     private List<DataSetObserver> datasetObservers;
     
@@ -35,6 +35,16 @@ public abstract class AbstractWheelAdapter implements WheelViewAdapter {
         return null;
     }
 
+    @Override
+    public int getItemViewTypeCount() {
+        return 1;
+    }
+
+    @Override
+    public int getItemViewType(int index) {
+        return 0;
+    }
+
     @Override
     public void registerDataSetObserver(DataSetObserver observer) {
         if (datasetObservers == null) {
@@ -17,7 +17,11 @@ package kankan.wheel.widget.adapters;
 
 import android.content.Context;
 import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.TextPaint;
 import android.util.Log;
+import android.util.TypedValue;
 import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -27,7 +31,7 @@ import android.widget.TextView;
 /**
  * Abstract wheel adapter provides common functionality for adapters.
  */
-public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
+public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter implements WheelTextAdapter {
     
     /** Text view resource. Used as a default view for adapter. */
     public static final int TEXT_VIEW_ITEM_RESOURCE = -1;
@@ -44,6 +48,9 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
     /** Default text size */
     public static final int DEFAULT_TEXT_SIZE = 24;
     
+    /** Maximum count of items measured on the calling thread */
+    private static final int MAX_MEASURED_ITEMS = 200;
+    
     // Text settings
     private int textColor = DEFAULT_TEXT_COLOR;
     private int textSize = DEFAULT_TEXT_SIZE;
@@ -59,6 +66,14 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
     
     // Empty items resources
     protected int emptyItemResourceId;
+    
+    // Text metrics
+    private TextPaint metricsPaint;
+    private int maxLabelWidth = -1;
+    private int labelHeight = -1;
+    private boolean isMeasuringInBackground = false;
+    // Incremented on metrics reset to ignore obsolete background results
+    private int metricsGeneration = 0;
 	
     /**
      * Constructor
@@ -121,6 +136,7 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      */
     public void setTextSize(int textSize) {
         this.textSize = textSize;
+        resetTextMetrics();
     }
     
     /**
@@ -155,6 +171,39 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
         this.itemTextResourceId = itemTextResourceId;
     }
 
+    /**
+     * Tests whether items views may be inflated on a background thread.
+     * Only items inflated from XML resources of a single view type are supported.
+     * Override it to return false if the item layout contains views
+     * that must be created on the UI thread.
+     * @return true if items views may be inflated in background
+     */
+    public boolean isAsyncInflationSupported() {
+        return itemResourceId != NO_RESOURCE && itemResourceId != TEXT_VIEW_ITEM_RESOURCE
+                && getItemViewTypeCount() == 1;
+    }
+
+    /**
+     * Creates layout inflater for a background thread. Layout inflaters are not
+     * thread safe, so the inflater of adapter must not be used off the UI thread.
+     * It should be called on the UI thread.
+     * @return the new layout inflater
+     */
+    public LayoutInflater newInflater() {
+        return inflater.cloneInContext(context);
+    }
+
+    /**
+     * Inflates a new unbound item view. It may be called on a background thread
+     * if asynchronous inflation is supported.
+     * @param inflater the inflater used by the calling thread only, see newInflater()
+     * @param parent the parent view
+     * @return the item view
+     */
+    public View newItemView(LayoutInflater inflater, ViewGroup parent) {
+        return inflater.inflate(itemResourceId, parent, false);
+    }
+
     /**
      * Gets resource Id for empty items views
      * @return the empty item resource Id
@@ -179,6 +228,130 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      */
     protected abstract CharSequence getItemText(int index);
 
+    @Override
+    public boolean isTextRenderingSupported() {
+        return itemResourceId == TEXT_VIEW_ITEM_RESOURCE;
+    }
+
+    @Override
+    public CharSequence getItemLabel(int index) {
+        CharSequence text = getItemText(index);
+        return text != null ? text : "";
+    }
+
+    @Override
+    public void configureTextPaint(TextPaint paint) {
+        paint.setAntiAlias(true);
+        paint.setColor(textColor);
+        paint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, textSize,
+                context.getResources().getDisplayMetrics()));
+        paint.setTypeface(Typeface.create(Typeface.SANS_SERIF, Typeface.BOLD));
+    }
+
+    @Override
+    public int getMaximumLabelWidth() {
+        if (maxLabelWidth < 0 && !isMeasuringInBackground && getItemsCount() <= MAX_MEASURED_ITEMS) {
+            maxLabelWidth = calculateMaximumLabelWidth(getMetricsPaint());
+        }
+        return maxLabelWidth;
+    }
+
+    @Override
+    public int getLabelHeight() {
+        if (labelHeight < 0) {
+            labelHeight = WheelTextMetrics.getTextHeight(getMetricsPaint());
+        }
+        return labelHeight;
+    }
+
+    /**
+     * Calculates maximum label width on a background thread.
+     * Adapters with more than 200 items are not measured on the calling thread,
+     * so this method allows to get stable wheel width for them. Observers are notified
+     * about data changing when the width is calculated.
+     * The adapter must be able to return items texts on a background thread.
+     */
+    public void measureLabelsInBackground() {
+        if (maxLabelWidth >= 0 || isMeasuringInBackground) {
+            return;
+        }
+        isMeasuringInBackground = true;
+
+        final int generation = metricsGeneration;
+        final TextPaint paint = new TextPaint(getMetricsPaint());
+        final Handler handler = new Handler(Looper.getMainLooper());
+        new Thread(new Runnable() {
+            public void run() {
+                final int width = calculateMaximumLabelWidth(paint);
+                handler.post(new Runnable() {
+                    public void run() {
+                        if (generation == metricsGeneration) {
+                            isMeasuringInBackground = false;
+                            maxLabelWidth = width;
+                            AbstractWheelTextAdapter.super.notifyDataChangedEvent();
+                        }
+                    }
+                });
+            }
+        }, "WheelLabelsMeasuring").start();
+    }
+
+    /**
+     * Calculates maximum width of all the items labels
+     * @param paint the configured text paint
+     * @return the maximum label width
+     */
+    private int calculateMaximumLabelWidth(TextPaint paint) {
+        float width = 0;
+        for (int i = 0; i < getItemsCount(); i++) {
+            width = Math.max(width, WheelTextMetrics.getTextWidth(paint, getItemLabel(i)));
+        }
+        return (int) Math.ceil(width);
+    }
+
+    /**
+     * Returns paint used to measure labels
+     * @return the configured paint
+     */
+    private TextPaint getMetricsPaint() {
+        if (metricsPaint == null) {
+            metricsPaint = new TextPaint();
+            configureTextPaint(metricsPaint);
+        }
+        return metricsPaint;
+    }
+
+    /**
+     * Resets calculated text metrics. Should be called when items texts
+     * or text settings are changed.
+     */
+    protected void resetTextMetrics() {
+        metricsPaint = null;
+        labelHeight = -1;
+        resetLabelWidth();
+    }
+
+    /**
+     * Resets maximum label width. Cancels background measuring.
+     */
+    private void resetLabelWidth() {
+        maxLabelWidth = -1;
+        isMeasuringInBackground = false;
+        metricsGeneration++;
+    }
+
+    @Override
+    protected void notifyDataChangedEvent() {
+        resetLabelWidth();
+        super.notifyDataChangedEvent();
+    }
+
+    @Override
+    protected void notifyDataInvalidatedEvent() {
+        resetTextMetrics();
+        super.notifyDataInvalidatedEvent();
+    }
+
     @Override
     public View getItem(int index, View convertView, ViewGroup parent) {
         if (index >= 0 && index < getItemsCount()) {
@@ -216,6 +389,7 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
 
     /**
      * Configures text view. Is called for the TEXT_VIEW_ITEM_RESOURCE views.
+     * Keep configureTextPaint() in sync when overriding it.
      * @param view the text view to be configured
      */
     protected void configureTextView(TextView view) {
@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget.adapters;
+
+import android.text.TextPaint;
+
+/**
+ * Text wheel adapter interface.
+ * Items of text adapters are single line labels, so the wheel
+ * is able to draw them directly on canvas without creating items views.
+ */
+public interface WheelTextAdapter extends WheelViewAdapter {
+	/**
+	 * Tests whether items can be drawn as plain text.
+	 * Adapters using custom item layouts should return false.
+	 *
+	 * @return true if items can be drawn without items views
+	 */
+	public boolean isTextRenderingSupported();
+
+	/**
+	 * Gets label of the wheel item
+	 *
+	 * @param index the item index
+	 * @return the item label, never null
+	 */
+	public CharSequence getItemLabel(int index);
+
+	/**
+	 * Configures the paint used to draw items labels.
+	 * It should match the settings of the items text views.
+	 *
+	 * @param paint the paint to be configured
+	 */
+	public void configureTextPaint(TextPaint paint);
+
+	/**
+	 * Gets maximum width of items labels. It is used to determine the wheel width
+	 * without binding items views.
+	 *
+	 * @return the maximum label width in pixels or -1 if it is not calculated
+	 */
+	public int getMaximumLabelWidth();
+
+	/**
+	 * Gets height of items labels including font padding
+	 *
+	 * @return the label height in pixels
+	 */
+	public int getLabelHeight();
+}
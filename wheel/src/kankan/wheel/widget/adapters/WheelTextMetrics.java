@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package kankan.wheel.widget.adapters;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import android.graphics.Paint.FontMetricsInt;
+import android.graphics.Typeface;
+import android.text.TextPaint;
+
+/**
+ * Process-wide cache of text metrics.
+ * Widths are cached by typeface, text size and text, heights by typeface and text size.
+ * The cache is thread safe, so it can be used to measure labels in background.
+ */
+public class WheelTextMetrics {
+	/** Maximum count of cached widths */
+	private static final int MAX_CACHED_WIDTHS = 4096;
+
+	/**
+	 * Cache key
+	 */
+	private static class Key {
+		Typeface typeface;
+		float size;
+		String text;
+
+		/**
+		 * Sets key fields
+		 * @return this key
+		 */
+		Key set(Typeface typeface, float size, String text) {
+			this.typeface = typeface;
+			this.size = size;
+			this.text = text;
+			return this;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			return typeface == key.typeface && size == key.size &&
+				(text == null ? key.text == null : text.equals(key.text));
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = typeface != null ? typeface.hashCode() : 0;
+			hash = 31 * hash + Float.floatToIntBits(size);
+			return 31 * hash + (text != null ? text.hashCode() : 0);
+		}
+	}
+
+	// Key used for lookups
+	private static final Key lookupKey = new Key();
+
+	// Cached widths, the least recently used are evicted
+	private static final Map<Key, Float> widths = new LinkedHashMap<Key, Float>(64, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Float> eldest) {
+			return size() > MAX_CACHED_WIDTHS;
+		}
+	};
+
+	// Cached heights
+	private static final Map<Key, Integer> heights = new HashMap<Key, Integer>();
+
+	// Font metrics used to calculate heights
+	private static final FontMetricsInt fontMetrics = new FontMetricsInt();
+
+	/**
+	 * Returns width of text
+	 * @param paint the configured text paint
+	 * @param text the text
+	 * @return the text width in pixels
+	 */
+	public static synchronized float getTextWidth(TextPaint paint, CharSequence text) {
+		String string = text.toString();
+		Float width = widths.get(lookupKey.set(paint.getTypeface(), paint.getTextSize(), string));
+		if (width == null) {
+			width = paint.measureText(string);
+			widths.put(new Key().set(paint.getTypeface(), paint.getTextSize(), string), width);
+		}
+		return width;
+	}
+
+	/**
+	 * Returns height of text line including font padding
+	 * @param paint the configured text paint
+	 * @return the line height in pixels
+	 */
+	public static synchronized int getTextHeight(TextPaint paint) {
+		Integer height = heights.get(lookupKey.set(paint.getTypeface(), paint.getTextSize(), null));
+		if (height == null) {
+			paint.getFontMetricsInt(fontMetrics);
+			height = fontMetrics.bottom - fontMetrics.top;
+			heights.put(new Key().set(paint.getTypeface(), paint.getTextSize(), null), height);
+		}
+		return height;
+	}
+
+	/**
+	 * Clears all cached metrics
+	 */
+	public static synchronized void clear() {
+		widths.clear();
+		heights.clear();
+	}
+}
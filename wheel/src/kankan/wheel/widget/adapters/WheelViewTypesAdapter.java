@@ -0,0 +1,40 @@
+/*
+ *  Copyright 2011 Yuri Kanivets
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package kankan.wheel.widget.adapters;
+
+/**
+ * Adapter with several types of items views.
+ * Adapters not implementing it have items views of a single type.
+ */
+public interface WheelViewTypesAdapter extends WheelViewAdapter {
+	/**
+	 * Gets count of item view types. Views of different types are not reused for each other.
+	 * 
+	 * @return the count of view types
+	 */
+	public int getItemViewTypeCount();
+
+	/**
+	 * Gets view type of the item. Views passed as convertView to getItem()
+	 * are always of the same type as the item.
+	 * 
+	 * @param index the item index
+	 * @return the view type in the range from 0 to getItemViewTypeCount() - 1
+	 */
+	public int getItemViewType(int index);
+}